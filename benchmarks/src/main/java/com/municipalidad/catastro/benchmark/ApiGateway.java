@@ -0,0 +1,125 @@
+package com.municipalidad.catastro.benchmark;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Eventos API Gateway y contexto de Lambda sintéticos, compartidos por los harness que invocan el handler
+final class ApiGateway {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ApiGateway() {
+    }
+
+    // Evento API Gateway HTTP (payload 2.0), el formato que entiende LambdaHttpHandler
+    static byte[] evento(String metodo, String path, String query, String body) throws JsonProcessingException {
+        var evento = MAPPER.createObjectNode()
+                .put("version", "2.0")
+                .put("routeKey", "$default")
+                .put("rawPath", path)
+                .put("rawQueryString", query)
+                .put("isBase64Encoded", false);
+        evento.putObject("headers")
+                .put("accept", "application/json")
+                .put("content-type", "application/json")
+                .put("host", "localhost");
+        evento.putObject("requestContext")
+                .put("requestId", UUID.randomUUID().toString())
+                .putObject("http")
+                .put("method", metodo)
+                .put("path", path)
+                .put("protocol", "HTTP/1.1")
+                .put("sourceIp", "127.0.0.1");
+        if (body != null) {
+            evento.put("body", body);
+        }
+        return MAPPER.writeValueAsBytes(evento);
+    }
+
+    static Map<String, String> opciones(String[] args) {
+        var opciones = new HashMap<String, String>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                var nombre = args[i].substring(2);
+                var valor = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "true";
+                opciones.put(nombre, valor);
+            }
+        }
+        return opciones;
+    }
+
+    static final Context CONTEXTO = new Context() {
+        @Override
+        public String getAwsRequestId() {
+            return UUID.randomUUID().toString();
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return "/aws/lambda/catastro-harness";
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return "local";
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "catastro-harness";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return "arn:aws:lambda:local:000000000000:function:catastro-harness";
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 30_000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 1024;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(String message) {
+                    System.out.print(message);
+                }
+
+                @Override
+                public void log(byte[] message) {
+                    System.out.print(new String(message, StandardCharsets.UTF_8));
+                }
+            };
+        }
+    };
+}
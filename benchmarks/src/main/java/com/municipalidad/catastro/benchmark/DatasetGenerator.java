@@ -0,0 +1,462 @@
+package com.municipalidad.catastro.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+// Datos catastrales sintéticos para pruebas de carga y de escala, sin copiar titulares reales.
+// Genera lotes, estimaciones, fotos, fichas, titulares, construcciones y servicios consistentes
+// entre sí y los carga con COPY, un hilo y una conexión por grupo de manzanas.
+//
+//   codigo_lote = sector (2) + manzana (3) + lote (3) → siempre ^\d{8}$
+//   coordenadas: sectores en una grilla sobre Lima, manzanas agrupadas en su sector y lotes
+//   a pocos metros del centro de su manzana
+//
+// Los ids se asignan aquí (a partir del máximo actual de cada tabla) y al final las secuencias
+// <entidad>_seq de Hibernate y las de las columnas SERIAL se mueven por encima del último id.
+//
+//   java -cp benchmarks/target/benchmarks.jar com.municipalidad.catastro.benchmark.DatasetGenerator \
+//        --sectores 50 --manzanas 200 --lotes 100
+//
+// Ese ejemplo es 1 M de lotes y ~14 M de filas con las proporciones por defecto (--fichas, --titulares,
+// --construcciones, --fotos y --estimaciones son medias por lote o por ficha). Conexión con
+// DB_HOST/DB_PORT/DB_NAME/DB_USER/DB_PASSWORD como la aplicación. Los contadores de
+// estadistica_catastral no se tocan: tras la carga, POST /api/estadisticas/recalcular.
+public class DatasetGenerator {
+
+    enum Tabla {
+        LOTE("lote", "lote_seq",
+                "id, codigo_sector, codigo_manzana, codigo_lote, latitud, longitud, precision_metros, " +
+                "fecha_creacion, fecha_modificacion"),
+        ESTIMACION("estimacion", "estimacion_seq",
+                "id, lote_id, codigo_lote, num_unidades_catastrales, tipo_terreno, num_pisos, num_viviendas, " +
+                "num_comercios, num_industrias, num_educacion, num_salud, num_religion, num_estacionamientos, " +
+                "num_medidores_luz, num_medidores_agua, num_timbres, num_sin_servicio, observacion, " +
+                "fecha_creacion, fecha_modificacion"),
+        FOTO("foto", "foto_seq",
+                "id, lote_id, codigo_lote, servicio, nombre, url, tipo_terreno, fecha_creacion"),
+        FICHA("ficha_catastral", "fichacatastral_seq",
+                "id, codigo_lote, codigo_sector, codigo_manzana, codigo_unidad, codigo_piso, codigo_edificacion, " +
+                "codigo_entrada, contador_fichas, tipo_predio, clasificacion_predio, uso_predio, frente_ml, " +
+                "derecha_ml, izquierda_ml, fondo_ml, area_terreno, area_construccion, area_verificada, " +
+                "fecha_levantamiento, observaciones, fecha_creacion, fecha_modificacion"),
+        TITULAR("titular", "titular_seq",
+                "id, ficha_id, tipo_titular, tipo_documento, numero_documento, apellido_paterno, " +
+                "apellido_materno, nombres, razon_social, estado_civil, porcentaje_propiedad, forma_adquisicion, " +
+                "fecha_adquisicion, tipo_documento_legal, numero_partida, fecha_creacion"),
+        CONSTRUCCION("construccion", "construccion_seq",
+                "id, ficha_id, numero_piso, fecha_construccion, material_estructural, estado_conservacion, " +
+                "estado_construccion, area_construida, muros, techos, pisos, puertas_ventanas, revestimiento, " +
+                "instalaciones_sanitarias, instalaciones_electricas, fecha_creacion"),
+        SERVICIO("servicio", "servicio_seq",
+                "id, ficha_id, tiene_luz, tiene_agua, tiene_desague, tiene_gas, tiene_internet, tiene_tv_cable, " +
+                "fecha_creacion");
+
+        final String nombre;
+        final String secuencia;
+        final String columnas;
+
+        Tabla(String nombre, String secuencia, String columnas) {
+            this.nombre = nombre;
+            this.secuencia = secuencia;
+            this.columnas = columnas;
+        }
+    }
+
+    // Bytes acumulados por hilo antes de enviar los COPY y confirmar
+    private static final int FLUSH_BYTES = 8 * 1024 * 1024;
+
+    private static final double LATITUD_CENTRO = -12.0464;
+    private static final double LONGITUD_CENTRO = -77.0428;
+    private static final double SEPARACION_SECTORES = 0.03;   // ~3,3 km
+    private static final double SEPARACION_MANZANAS = 0.0009; // ~100 m
+    private static final double DISPERSION_LOTES = 0.0003;    // ~30 m
+
+    private static final DateTimeFormatter FECHA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime AHORA = LocalDateTime.now().withNano(0);
+
+    private static final String[] TIPOS_TERRENO = {"Sin Construir", "En Construcción", "Construido"};
+    private static final String[] TIPOS_PREDIO = {"Casa Habitación", "Departamento en Edificio", "Local Comercial",
+            "Terreno sin Construir", "Industria"};
+    private static final String[] USOS_PREDIO = {"Residencial", "Comercial", "Mixto", "Industrial"};
+    private static final String[] MATERIALES = {"Concreto", "Ladrillo", "Adobe", "Madera", "Drywall"};
+    private static final String[] CONSERVACION = {"Bueno", "Regular", "Malo"};
+    private static final String[] CATEGORIAS = {"A", "B", "C", "D", "E", "F", "G", "H", "I"};
+    private static final String[] ESTADOS_CIVILES = {"Soltero", "Casado", "Viudo", "Divorciado", "Conviviente"};
+    private static final String[] ADQUISICION = {"Compra-Venta", "Herencia", "Donación", "Adjudicación"};
+    private static final String[] DOCUMENTOS_LEGALES = {"Escritura Pública", "Título de Propiedad", "Minuta"};
+    private static final String[] APELLIDOS = {"Quispe", "Flores", "Sánchez", "Rodríguez", "García", "Rojas",
+            "Huamán", "Ramos", "Mendoza", "Chávez", "Torres", "Vásquez", "Díaz", "Castillo", "Mamani", "López",
+            "Gutiérrez", "Espinoza", "Ramírez", "Pérez", "Vargas", "Romero", "Cruz", "Salazar", "Condori"};
+    private static final String[] NOMBRES = {"José", "María", "Juan", "Rosa", "Luis", "Carmen", "Carlos", "Ana",
+            "Jorge", "Julia", "Miguel", "Lucía", "César", "Elena", "Víctor", "Sofía", "Pedro", "Gloria"};
+    private static final String[] EMPRESAS = {"Inversiones", "Inmobiliaria", "Comercial", "Constructora",
+            "Servicios Generales"};
+
+    private final int sectorInicial;
+    private final int sectores;
+    private final int manzanas;
+    private final int lotesPorManzana;
+    private final double fichasPorLote;
+    private final double titularesPorFicha;
+    private final double construccionesPorFicha;
+    private final double fotosPorLote;
+    private final double estimacionesPorLote;
+    private final long semilla;
+    private final String url;
+    private final String usuario;
+    private final String password;
+
+    private final EnumMap<Tabla, AtomicLong> ids = new EnumMap<>(Tabla.class);
+    private final EnumMap<Tabla, AtomicLong> filas = new EnumMap<>(Tabla.class);
+
+    private DatasetGenerator(Map<String, String> opciones) {
+        sectorInicial = entero(opciones, "sector-inicial", 1);
+        sectores = entero(opciones, "sectores", 10);
+        manzanas = entero(opciones, "manzanas", 100);
+        lotesPorManzana = entero(opciones, "lotes", 20);
+        fichasPorLote = decimal(opciones, "fichas", 2.0);
+        titularesPorFicha = decimal(opciones, "titulares", 1.5);
+        construccionesPorFicha = decimal(opciones, "construcciones", 2.0);
+        fotosPorLote = decimal(opciones, "fotos", 1.0);
+        estimacionesPorLote = decimal(opciones, "estimaciones", 1.0);
+        semilla = Long.parseLong(opciones.getOrDefault("semilla", "42"));
+        url = opciones.getOrDefault("url", "jdbc:postgresql://" + env("DB_HOST", "localhost") + ":" +
+                env("DB_PORT", "5432") + "/" + env("DB_NAME", "catastro_db"));
+        usuario = env("DB_USER", "postgres");
+        password = env("DB_PASSWORD", "postgres");
+
+        if (sectorInicial < 0 || sectorInicial + sectores - 1 > 99 || sectores < 1) {
+            throw new IllegalArgumentException("Los sectores deben estar entre 00 y 99");
+        }
+        if (manzanas < 1 || manzanas > 999 || lotesPorManzana < 1 || lotesPorManzana > 999) {
+            throw new IllegalArgumentException("manzanas y lotes deben estar entre 1 y 999");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var opciones = ApiGateway.opciones(args);
+        int hilos = entero(opciones, "hilos", Runtime.getRuntime().availableProcessors());
+        new DatasetGenerator(opciones).generar(hilos);
+    }
+
+    private void generar(int hilos) throws Exception {
+        try (var conexion = conectar(); var st = conexion.createStatement()) {
+            verificarSectoresLibres(conexion);
+            for (var tabla : Tabla.values()) {
+                try (var rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabla.nombre)) {
+                    rs.next();
+                    ids.put(tabla, new AtomicLong(rs.getLong(1)));
+                }
+                filas.put(tabla, new AtomicLong());
+            }
+        }
+
+        long lotes = (long) sectores * manzanas * lotesPorManzana;
+        System.out.printf("Generando %,d lotes (%d sectores x %d manzanas x %d lotes) con %d hilos%n",
+                lotes, sectores, manzanas, lotesPorManzana, hilos);
+
+        long inicio = System.nanoTime();
+        var siguiente = new AtomicInteger();
+        int unidades = sectores * manzanas;
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            var tareas = new ArrayList<Future<?>>();
+            for (int i = 0; i < hilos; i++) {
+                tareas.add(pool.submit(() -> {
+                    cargar(siguiente, unidades);
+                    return null;
+                }));
+            }
+            while (!tareas.stream().allMatch(Future::isDone)) {
+                Thread.sleep(5_000);
+                progreso(inicio);
+            }
+            for (var tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (var conexion = conectar()) {
+            ajustarSecuencias(conexion);
+        }
+        progreso(inicio);
+        System.out.println("Listo. Recalcular contadores: POST /api/estadisticas/recalcular");
+    }
+
+    private void verificarSectoresLibres(Connection conexion) throws SQLException {
+        var consulta = "SELECT COUNT(*) FROM lote WHERE codigo_sector BETWEEN ? AND ?";
+        try (var ps = conexion.prepareStatement(consulta)) {
+            ps.setString(1, String.format("%02d", sectorInicial));
+            ps.setString(2, String.format("%02d", sectorInicial + sectores - 1));
+            try (var rs = ps.executeQuery()) {
+                rs.next();
+                if (rs.getLong(1) > 0) {
+                    throw new IllegalStateException("Ya hay " + rs.getLong(1) + " lotes en los sectores " +
+                            "elegidos; usar --sector-inicial o una base vacía");
+                }
+            }
+        }
+    }
+
+    // Secuencias por encima del último id: las SERIAL para INSERT sin id y las de Hibernate
+    // con margen de un bloque (INCREMENT BY 50, optimizador pooled)
+    private void ajustarSecuencias(Connection conexion) throws SQLException {
+        try (var st = conexion.createStatement()) {
+            for (var tabla : Tabla.values()) {
+                st.execute("SELECT setval(pg_get_serial_sequence('" + tabla.nombre + "', 'id'), " +
+                        "GREATEST((SELECT MAX(id) FROM " + tabla.nombre + "), 1))");
+                st.execute("SELECT setval('" + tabla.secuencia + "', " +
+                        "(SELECT COALESCE(MAX(id), 0) FROM " + tabla.nombre + ") + 50)");
+                st.execute("ANALYZE " + tabla.nombre);
+            }
+        }
+    }
+
+    private void progreso(long inicio) {
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long total = filas.values().stream().mapToLong(AtomicLong::get).sum();
+        var detalle = new StringBuilder();
+        filas.forEach((tabla, n) -> detalle.append(' ').append(tabla.nombre).append('=').append(n.get()));
+        System.out.printf(Locale.ROOT, "%8.1f s  %,d filas (%,.0f filas/s)%s%n",
+                segundos, total, total / Math.max(segundos, 0.001), detalle);
+    }
+
+    // ==================== Carga por hilo ====================
+
+    private void cargar(AtomicInteger siguiente, int unidades) throws SQLException, IOException {
+        try (var conexion = conectar()) {
+            conexion.setAutoCommit(false);
+            var copy = conexion.unwrap(PGConnection.class).getCopyAPI();
+            var buffers = new EnumMap<Tabla, StringBuilder>(Tabla.class);
+            for (var tabla : Tabla.values()) {
+                buffers.put(tabla, new StringBuilder());
+            }
+
+            int unidad;
+            while ((unidad = siguiente.getAndIncrement()) < unidades) {
+                int sector = sectorInicial + unidad / manzanas;
+                int manzana = 1 + unidad % manzanas;
+                manzana(sector, manzana, buffers);
+
+                if (buffers.values().stream().mapToInt(StringBuilder::length).sum() >= FLUSH_BYTES) {
+                    enviar(copy, conexion, buffers);
+                }
+            }
+            enviar(copy, conexion, buffers);
+        }
+    }
+
+    // Padres antes que hijos: las FK se validan fila a fila dentro de la misma transacción
+    private void enviar(CopyManager copy, Connection conexion,
+                        EnumMap<Tabla, StringBuilder> buffers) throws SQLException, IOException {
+        for (var tabla : Tabla.values()) {
+            var buffer = buffers.get(tabla);
+            if (buffer.isEmpty()) {
+                continue;
+            }
+            var in = copy.copyIn("COPY " + tabla.nombre + " (" + tabla.columnas + ") FROM STDIN");
+            var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            in.writeToCopy(bytes, 0, bytes.length);
+            filas.get(tabla).addAndGet(in.endCopy());
+            buffer.setLength(0);
+        }
+        conexion.commit();
+    }
+
+    // ==================== Generación ====================
+
+    // Cada manzana usa su propio generador: el contenido no depende del número de hilos
+    private void manzana(int sector, int manzana, EnumMap<Tabla, StringBuilder> b) {
+        var r = new SplittableRandom(semilla * 1_000_003L + sector * 1000L + manzana);
+        var codigoSector = String.format("%02d", sector);
+        var codigoManzana = String.format("%03d", manzana);
+
+        int enSector = sector - sectorInicial;
+        double latitudSector = LATITUD_CENTRO + (enSector / 10 - 4.5) * SEPARACION_SECTORES;
+        double longitudSector = LONGITUD_CENTRO + (enSector % 10 - 4.5) * SEPARACION_SECTORES;
+        int lado = (int) Math.ceil(Math.sqrt(manzanas));
+        double latitudManzana = latitudSector + ((manzana - 1) / lado - lado / 2.0) * SEPARACION_MANZANAS
+                + r.nextDouble(-0.2, 0.2) * SEPARACION_MANZANAS;
+        double longitudManzana = longitudSector + ((manzana - 1) % lado - lado / 2.0) * SEPARACION_MANZANAS
+                + r.nextDouble(-0.2, 0.2) * SEPARACION_MANZANAS;
+
+        for (int numero = 1; numero <= lotesPorManzana; numero++) {
+            long loteId = ids.get(Tabla.LOTE).incrementAndGet();
+            var codigoLote = codigoSector + codigoManzana + String.format("%03d", numero);
+            var creacion = AHORA.minusMinutes(r.nextLong(5L * 365 * 24 * 60));
+            var tipoTerreno = elegir(r, TIPOS_TERRENO);
+
+            fila(b.get(Tabla.LOTE), loteId, codigoSector, codigoManzana, codigoLote,
+                    coordenada(latitudManzana + r.nextDouble(-DISPERSION_LOTES, DISPERSION_LOTES)),
+                    coordenada(longitudManzana + r.nextDouble(-DISPERSION_LOTES, DISPERSION_LOTES)),
+                    decimal2(r.nextDouble(1, 15)), fechaHora(creacion), fechaHora(creacion));
+
+            for (int i = cantidad(r, estimacionesPorLote); i > 0; i--) {
+                estimacion(r, b.get(Tabla.ESTIMACION), loteId, codigoLote, tipoTerreno, creacion);
+            }
+            for (int i = 1, fotos = cantidad(r, fotosPorLote); i <= fotos; i++) {
+                fila(b.get(Tabla.FOTO), ids.get(Tabla.FOTO).incrementAndGet(), loteId, codigoLote, "S3",
+                        codigoLote + "_" + i + ".jpg",
+                        "https://catastro-fotos.s3.amazonaws.com/" + codigoLote + "/" + i + ".jpg",
+                        tipoTerreno, fechaHora(creacion.plusDays(r.nextInt(30))));
+            }
+            for (int unidad = 1, fichas = cantidad(r, fichasPorLote); unidad <= fichas; unidad++) {
+                ficha(r, b, codigoLote, codigoSector, codigoManzana, unidad, fichas, creacion);
+            }
+        }
+    }
+
+    private void estimacion(SplittableRandom r, StringBuilder b, long loteId, String codigoLote,
+                            String tipoTerreno, LocalDateTime creacion) {
+        boolean construido = !"Sin Construir".equals(tipoTerreno);
+        int viviendas = construido ? r.nextInt(1, 12) : 0;
+        int comercios = construido ? r.nextInt(0, 3) : 0;
+        int industrias = construido && r.nextInt(20) == 0 ? 1 : 0;
+        int estacionamientos = construido ? r.nextInt(0, 4) : 0;
+        int unidades = viviendas + comercios + industrias + estacionamientos;
+        fila(b, ids.get(Tabla.ESTIMACION).incrementAndGet(), loteId, codigoLote, unidades, tipoTerreno,
+                construido ? r.nextInt(1, 8) : 0, viviendas, comercios, industrias, 0, 0, 0, estacionamientos,
+                viviendas + comercios, viviendas, viviendas, 0, null,
+                fechaHora(creacion), fechaHora(creacion.plusDays(r.nextInt(90))));
+    }
+
+    private void ficha(SplittableRandom r, EnumMap<Tabla, StringBuilder> b, String codigoLote,
+                       String codigoSector, String codigoManzana, int unidad, int fichas, LocalDateTime creacionLote) {
+        long fichaId = ids.get(Tabla.FICHA).incrementAndGet();
+        var creacion = creacionLote.plusDays(r.nextInt(365));
+        double frente = r.nextDouble(6, 20);
+        double fondo = r.nextDouble(15, 40);
+        double areaTerreno = frente * fondo;
+        var tipoPredio = elegir(r, TIPOS_PREDIO);
+        int pisos = "Terreno sin Construir".equals(tipoPredio) ? 0 : Math.max(1, cantidad(r, construccionesPorFicha));
+        double areaConstruccion = areaTerreno * r.nextDouble(0.6, 1.0) * pisos;
+
+        fila(b.get(Tabla.FICHA), fichaId, codigoLote, codigoSector, codigoManzana, String.format("%03d", unidad),
+                "01", "01", "01", fichas, tipoPredio, "Urbano", elegir(r, USOS_PREDIO),
+                decimal2(frente), decimal2(fondo), decimal2(fondo), decimal2(frente), decimal2(areaTerreno),
+                decimal2(areaConstruccion), decimal2(areaTerreno), fecha(creacion.toLocalDate().minusDays(r.nextInt(60))),
+                null, fechaHora(creacion), fechaHora(creacion));
+
+        int titulares = Math.max(1, cantidad(r, titularesPorFicha));
+        for (int i = 0; i < titulares; i++) {
+            titular(r, b.get(Tabla.TITULAR), fichaId, 100.0 / titulares, creacion);
+        }
+        for (int piso = 1; piso <= pisos; piso++) {
+            fila(b.get(Tabla.CONSTRUCCION), ids.get(Tabla.CONSTRUCCION).incrementAndGet(), fichaId, piso,
+                    fecha(creacion.toLocalDate().minusYears(r.nextInt(1, 50))), elegir(r, MATERIALES),
+                    elegir(r, CONSERVACION), "Terminado", decimal2(areaConstruccion / pisos),
+                    elegir(r, CATEGORIAS), elegir(r, CATEGORIAS), elegir(r, CATEGORIAS), elegir(r, CATEGORIAS),
+                    elegir(r, CATEGORIAS), elegir(r, CATEGORIAS), elegir(r, CATEGORIAS), fechaHora(creacion));
+        }
+        if (r.nextInt(10) > 0) {
+            fila(b.get(Tabla.SERVICIO), ids.get(Tabla.SERVICIO).incrementAndGet(), fichaId,
+                    r.nextInt(20) > 0, r.nextInt(10) > 0, r.nextInt(5) > 0, r.nextInt(4) == 0,
+                    r.nextInt(2) == 0, r.nextInt(3) == 0, fechaHora(creacion));
+        }
+    }
+
+    private void titular(SplittableRandom r, StringBuilder b, long fichaId, double porcentaje,
+                         LocalDateTime creacion) {
+        boolean juridica = r.nextInt(10) == 0;
+        var adquisicion = creacion.toLocalDate().minusDays(r.nextInt(1, 20 * 365));
+        fila(b, ids.get(Tabla.TITULAR).incrementAndGet(), fichaId, juridica ? "2" : "1", juridica ? "RUC" : "DNI",
+                juridica ? "20" + digitos(r, 9) : digitos(r, 8),
+                juridica ? null : elegir(r, APELLIDOS), juridica ? null : elegir(r, APELLIDOS),
+                juridica ? null : elegir(r, NOMBRES),
+                juridica ? elegir(r, EMPRESAS) + " " + elegir(r, APELLIDOS) + " S.A.C." : null,
+                juridica ? null : elegir(r, ESTADOS_CIVILES), decimal2(porcentaje), elegir(r, ADQUISICION),
+                fecha(adquisicion), elegir(r, DOCUMENTOS_LEGALES), "P" + digitos(r, 8), fechaHora(creacion));
+    }
+
+    // ==================== Formato COPY (texto) ====================
+
+    // Los valores generados no contienen tabuladores, saltos de línea ni barras invertidas
+    private static void fila(StringBuilder b, Object... valores) {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                b.append('\t');
+            }
+            var valor = valores[i];
+            if (valor == null) {
+                b.append("\\N");
+            } else if (valor instanceof Boolean booleano) {
+                b.append(booleano ? 't' : 'f');
+            } else {
+                b.append(valor);
+            }
+        }
+        b.append('\n');
+    }
+
+    // Media configurable con dispersión: uniforme entre 0 y el doble de la media
+    private static int cantidad(SplittableRandom r, double media) {
+        return media <= 0 ? 0 : (int) Math.round(r.nextDouble() * 2 * media);
+    }
+
+    private static String elegir(SplittableRandom r, String[] valores) {
+        return valores[r.nextInt(valores.length)];
+    }
+
+    private static String digitos(SplittableRandom r, int n) {
+        var s = new StringBuilder(n);
+        for (int i = 0; i < n; i++) {
+            s.append((char) ('0' + r.nextInt(10)));
+        }
+        return s.toString();
+    }
+
+    private static String coordenada(double valor) {
+        return String.format(Locale.ROOT, "%.8f", valor);
+    }
+
+    private static String decimal2(double valor) {
+        return String.format(Locale.ROOT, "%.2f", valor);
+    }
+
+    private static String fecha(LocalDate fecha) {
+        return fecha.toString();
+    }
+
+    private static String fechaHora(LocalDateTime fecha) {
+        return fecha.format(FECHA_HORA);
+    }
+
+    // ==================== Utilidades ====================
+
+    private Connection conectar() throws SQLException {
+        return DriverManager.getConnection(url, usuario, password);
+    }
+
+    private static String env(String nombre, String defecto) {
+        var valor = System.getenv(nombre);
+        return valor != null ? valor : defecto;
+    }
+
+    private static int entero(Map<String, String> opciones, String nombre, int defecto) {
+        return Integer.parseInt(opciones.getOrDefault(nombre, String.valueOf(defecto)));
+    }
+
+    private static double decimal(Map<String, String> opciones, String nombre, double defecto) {
+        return Double.parseDouble(opciones.getOrDefault(nombre, String.valueOf(defecto)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.municipalidad.catastro.benchmark;
+
+import com.municipalidad.catastro.dto.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Datos de ejemplo con todos los campos llenos, para que los mappers hagan el trabajo completo
+public final class Datos {
+
+    private static final LocalDate FECHA = LocalDate.of(2024, 3, 15);
+    private static final LocalDateTime FECHA_HORA = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_456_000);
+
+    private Datos() {
+    }
+
+    public static String codigoLote(long i) {
+        return String.format("%08d", 10_000_000 + i % 90_000_000);
+    }
+
+    public static FichaCatastralDTO ficha(long i, int titulares, int construcciones) {
+        var listaTitulares = new ArrayList<TitularDTO>(titulares);
+        for (int t = 0; t < titulares; t++) {
+            listaTitulares.add(titular(i * 10 + t, i));
+        }
+        var listaConstrucciones = new ArrayList<ConstruccionDTO>(construcciones);
+        for (int c = 0; c < construcciones; c++) {
+            listaConstrucciones.add(construccion(i * 10 + c, i, c + 1));
+        }
+
+        return new FichaCatastralDTO(
+                i, codigoLote(i), "01", "023", "001", "01", "01", "01", 1,
+                "Casa Habitación", "Urbano", "Residencial", "Urbano",
+                "Lima", "Lima", "San Isidro", "Sector 1 Etapa 2", "B", "14",
+                "Av. Los Próceres", "1234", "Dpto", "301", "Principal", "1234-A", null,
+                "Frente al parque zonal",
+                new BigDecimal("12.50"), new BigDecimal("25.00"), new BigDecimal("25.00"), new BigDecimal("12.50"),
+                new BigDecimal("312.50"), new BigDecimal("480.75"), new BigDecimal("310.00"),
+                "Av. Los Próceres", "Lote 13", "Lote 15", "Lote 27",
+                "Existe", "Propio", FECHA, FECHA.minusYears(3),
+                "Ficha levantada en campo con verificación de linderos y áreas.",
+                listaTitulares, listaConstrucciones, servicio(i, i)
+        );
+    }
+
+    public static TitularDTO titular(long id, long fichaId) {
+        return new TitularDTO(
+                id, fichaId, "1", "DNI", "4" + String.format("%07d", id % 10_000_000),
+                "Quispe", "Mamani", "Rosa Elena", null, "Casado", null,
+                "Lima", "Lima", "San Isidro", "Av. Los Próceres 1234", "987654321",
+                "rosa.quispe@example.com", new BigDecimal("50.00"), "Copropietario", "Compra",
+                FECHA.minusYears(10), "Escritura Pública", "P0123456", "12", "C00004",
+                FECHA.minusYears(9), "Lima"
+        );
+    }
+
+    public static ConstruccionDTO construccion(long id, long fichaId, int piso) {
+        return new ConstruccionDTO(
+                id, fichaId, piso, "Piso " + piso, FECHA.minusYears(15), 2009,
+                "Concreto", "Bueno", "Terminado",
+                new BigDecimal("160.25"), new BigDecimal("150.00"), new BigDecimal("10.25"),
+                "C", "C", "D", "E", "F", "D", "C", "C",
+                "Ladrillo o similar", "Concreto Armado", "Cerámico", "Madera",
+                4, 2, 1, piso == 1, false, piso > 1
+        );
+    }
+
+    public static ServicioDTO servicio(long id, long fichaId) {
+        return new ServicioDTO(
+                id, fichaId, true, "Red Pública", true, "Red Pública", true, "Red Pública",
+                false, "Balón GLP", true, "Fijo", true, "Fibra Óptica", true, "Movistar",
+                true, false, false, true, 150
+        );
+    }
+
+    public static EstimacionDTO estimacion(long id) {
+        return new EstimacionDTO(
+                id, id, codigoLote(id), 12, "Edificio", 5, 8, 2, 0, 1, 0, 0, 1,
+                10, 10, 9, 1, "Estimación realizada desde la vereda."
+        );
+    }
+
+    public static LoteDTO lote(long id) {
+        return new LoteDTO(
+                id, "01", "023", codigoLote(id),
+                new BigDecimal("-12.0975310"), new BigDecimal("-77.0365280"), new BigDecimal("4.50"),
+                FECHA_HORA, FECHA_HORA
+        );
+    }
+
+    public static FotoDTO foto(long id) {
+        return new FotoDTO(
+                id, id, codigoLote(id), "S3", "fachada-" + id + ".jpg",
+                "https://catastro.example.com/fotos/" + codigoLote(id) + "/fachada-" + id + ".jpg",
+                "Edificio", "Fachada", "image/jpeg", 1_482_113L
+        );
+    }
+
+    public static List<FichaCatastralDTO> fichas(int cantidad) {
+        var fichas = new ArrayList<FichaCatastralDTO>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            fichas.add(ficha(i + 1, 2, 3));
+        }
+        return fichas;
+    }
+}
@@ -0,0 +1,324 @@
+package com.municipalidad.catastro.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.quarkus.amazon.lambda.runtime.QuarkusStreamHandler;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Arranque en frío y latencia en caliente del handler de Lambda, medidos en local.
+// Cada corrida es una JVM nueva que construye QuarkusStreamHandler (la fase init de Lambda)
+// y le envía eventos API Gateway sintéticos para cada ruta de serverless.yml.
+//
+// Requiere el artefacto completo de mvn package (el runner jar carga target/lib/*.jar por su
+// Class-Path) y una Postgres local con db.schema.sql aplicado, configurada con
+// DB_HOST/DB_PORT/DB_NAME/DB_USER/DB_PASSWORD como en Lambda:
+//
+//   java -cp target/catastro-api-1.0.0-SNAPSHOT-runner.jar:benchmarks/target/catastro-benchmarks-1.0.0-SNAPSHOT.jar \
+//        com.municipalidad.catastro.benchmark.LambdaHarness --runs 5 --iterations 200 --output arranque.json
+//
+// Con --endpoint envía los mismos eventos por HTTP a un endpoint de invocación (el emulador de
+// runtime de la imagen base de Lambda) en vez de arrancar el handler; scripts/appcds.sh lo usa
+// como corrida de entrenamiento.
+public class LambdaHarness {
+
+    private static final String RESULTADO = "HARNESS-RESULT ";
+
+    // Mismas opciones que JAVA_TOOL_OPTIONS en serverless.yml
+    private static final String JVM_ARGS = "-XX:+TieredCompilation -XX:TieredStopAtLevel=1 " +
+            "-Djava.awt.headless=true -Dquarkus.http.io-threads=2 -Dquarkus.vertx.worker-pool-size=4";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        var opciones = ApiGateway.opciones(args);
+        int iteraciones = Integer.parseInt(opciones.getOrDefault("iterations", "200"));
+        int calentamiento = Integer.parseInt(opciones.getOrDefault("warmup", "50"));
+        if (opciones.containsKey("child")) {
+            new LambdaHarness().corrida(iteraciones, calentamiento);
+            return;
+        }
+        if (opciones.containsKey("endpoint")) {
+            new LambdaHarness().remota(URI.create(opciones.get("endpoint")), iteraciones, calentamiento);
+            return;
+        }
+
+        int corridas = Integer.parseInt(opciones.getOrDefault("runs", "5"));
+        var jvmArgs = opciones.getOrDefault("jvm-args", JVM_ARGS);
+        var resultados = new ArrayList<JsonNode>();
+        for (int i = 0; i < corridas; i++) {
+            resultados.add(lanzar(jvmArgs, iteraciones, calentamiento));
+        }
+
+        var resumen = resumir(resultados);
+        imprimir(resumen, corridas);
+        if (opciones.containsKey("output")) {
+            Files.write(Path.of(opciones.get("output")),
+                    MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(resumen));
+        }
+    }
+
+    // ==================== Proceso padre ====================
+
+    private static JsonNode lanzar(String jvmArgs, int iteraciones, int calentamiento) throws Exception {
+        var comando = new ArrayList<String>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        comando.addAll(List.of("-cp", System.getProperty("java.class.path"), LambdaHarness.class.getName(),
+                "--child", "--iterations", String.valueOf(iteraciones), "--warmup", String.valueOf(calentamiento)));
+
+        var proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        JsonNode resultado = null;
+        try (var reader = new BufferedReader(new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.startsWith(RESULTADO)) {
+                    resultado = MAPPER.readTree(linea.substring(RESULTADO.length()));
+                } else {
+                    // Logs de Quarkus de la corrida, por si falla el arranque
+                    System.err.println(linea);
+                }
+            }
+        }
+        if (proceso.waitFor() != 0 || resultado == null) {
+            throw new IllegalStateException("La corrida terminó sin resultados (código " + proceso.exitValue() + ")");
+        }
+        return resultado;
+    }
+
+    // Arranque: mínimo/mediana/máximo entre corridas; rutas: mediana de los percentiles de cada corrida
+    private static ObjectNode resumir(List<JsonNode> corridas) {
+        var resumen = MAPPER.createObjectNode();
+        var arranque = resumen.putObject("arranque");
+        for (var metrica : List.of("initMs", "primeraRespuestaMs", "heapTrasArranqueMb")) {
+            var valores = corridas.stream().mapToDouble(c -> c.get(metrica).asDouble()).sorted().toArray();
+            arranque.putObject(metrica)
+                    .put("min", valores[0])
+                    .put("p50", percentil(valores, 0.50))
+                    .put("max", valores[valores.length - 1]);
+        }
+
+        var rutas = resumen.putObject("rutas");
+        var nombres = new TreeMap<String, List<JsonNode>>();
+        corridas.forEach(c -> c.get("rutas").fields()
+                .forEachRemaining(e -> nombres.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue())));
+        nombres.forEach((ruta, valores) -> {
+            var nodo = rutas.putObject(ruta);
+            for (var p : List.of("p50", "p95", "p99")) {
+                nodo.put(p, percentil(valores.stream().mapToDouble(v -> v.get(p).asDouble()).sorted().toArray(), 0.50));
+            }
+            nodo.put("errores", valores.stream().mapToInt(v -> v.get("errores").asInt()).sum());
+        });
+        return resumen;
+    }
+
+    private static void imprimir(JsonNode resumen, int corridas) {
+        System.out.printf("%nArranque en frío (%d corridas)            min        p50        max%n", corridas);
+        resumen.get("arranque").fields().forEachRemaining(e -> System.out.printf("  %-36s %10.1f %10.1f %10.1f%n",
+                e.getKey(), e.getValue().get("min").asDouble(), e.getValue().get("p50").asDouble(),
+                e.getValue().get("max").asDouble()));
+
+        imprimirRutas(resumen.get("rutas"));
+    }
+
+    private static void imprimirRutas(JsonNode rutas) {
+        System.out.printf("%nLatencia en caliente (ms)                 p50        p95        p99  errores%n");
+        rutas.fields().forEachRemaining(e -> System.out.printf("  %-36s %10.2f %10.2f %10.2f %8d%n",
+                e.getKey(), e.getValue().get("p50").asDouble(), e.getValue().get("p95").asDouble(),
+                e.getValue().get("p99").asDouble(), e.getValue().get("errores").asInt()));
+    }
+
+    // ==================== Proceso hijo ====================
+
+    private final Map<String, List<Double>> latencias = new LinkedHashMap<>();
+    private final Map<String, Integer> errores = new HashMap<>();
+    private QuarkusStreamHandler handler;
+    private URI endpoint;
+    private HttpClient http;
+    private boolean medir;
+
+    private void corrida(int iteraciones, int calentamiento) throws Exception {
+        var runtime = ManagementFactory.getRuntimeMXBean();
+
+        // Construir el handler arranca Quarkus igual que la fase init de Lambda
+        handler = new QuarkusStreamHandler();
+        long initMs = runtime.getUptime();
+        invocar("GET /api/lotes", "GET", "/api/lotes", "size=20", null);
+        long primeraRespuestaMs = runtime.getUptime();
+
+        System.gc();
+        double heapMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+
+        for (int i = 0; i < calentamiento; i++) {
+            escenario();
+        }
+        medir = true;
+        for (int i = 0; i < iteraciones; i++) {
+            escenario();
+        }
+
+        var resultado = MAPPER.createObjectNode()
+                .put("initMs", initMs)
+                .put("primeraRespuestaMs", primeraRespuestaMs)
+                .put("heapTrasArranqueMb", heapMb);
+        resultado.set("rutas", rutas());
+        System.out.println(RESULTADO + MAPPER.writeValueAsString(resultado));
+        System.exit(0);
+    }
+
+    // Sin métricas de arranque: el init ocurre en el proceso remoto con la primera invocación
+    private void remota(URI endpoint, int iteraciones, int calentamiento) throws Exception {
+        this.endpoint = endpoint;
+        http = HttpClient.newHttpClient();
+        for (int i = 0; i < calentamiento; i++) {
+            escenario();
+        }
+        medir = true;
+        for (int i = 0; i < iteraciones; i++) {
+            escenario();
+        }
+        imprimirRutas(rutas());
+    }
+
+    private ObjectNode rutas() {
+        var rutas = MAPPER.createObjectNode();
+        latencias.forEach((ruta, muestras) -> {
+            var valores = muestras.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            rutas.putObject(ruta)
+                    .put("p50", percentil(valores, 0.50))
+                    .put("p95", percentil(valores, 0.95))
+                    .put("p99", percentil(valores, 0.99))
+                    .put("errores", errores.getOrDefault(ruta, 0));
+        });
+        return rutas;
+    }
+
+    // Una pasada por todas las rutas de serverless.yml, con datos propios que se borran al final.
+    // POST /api/estadisticas/recalcular no se incluye: reescribe toda la tabla de estadísticas.
+    private void escenario() throws IOException, InterruptedException {
+        var codigo = String.valueOf(90_000_000 + ThreadLocalRandom.current().nextInt(10_000_000));
+
+        var lote = invocar("POST /api/lotes", "POST", "/api/lotes", "", """
+                {"codigoSector":"99","codigoManzana":"999","codigoLote":"%s",
+                 "latitud":-12.0464,"longitud":-77.0428,"precisionMetros":5}""".formatted(codigo));
+        var loteId = id(lote);
+        invocar("GET /api/lotes/{id}", "GET", "/api/lotes/" + loteId, "", null);
+        invocar("PUT /api/lotes/{id}", "PUT", "/api/lotes/" + loteId, "", """
+                {"codigoSector":"99","codigoManzana":"999","codigoLote":"%s",
+                 "latitud":-12.0465,"longitud":-77.0429,"precisionMetros":5}""".formatted(codigo));
+        invocar("GET /api/lotes", "GET", "/api/lotes", "sector=99&manzana=999", null);
+        invocar("GET /api/lotes/near", "GET", "/api/lotes/near", "lat=-12.0464&lon=-77.0428&radio=100", null);
+        invocar("GET /api/lotes/bbox", "GET", "/api/lotes/bbox",
+                "minLat=-12.05&minLon=-77.05&maxLat=-12.04&maxLon=-77.04", null);
+        invocar("GET /api/lotes/tiles/{z}/{x}/{y}", "GET", "/api/lotes/tiles/15/9371/17489", "", null);
+        invocar("GET /api/lotes/densidad", "GET", "/api/lotes/densidad", "sector=99", null);
+
+        var estimacion = invocar("POST /api/estimaciones", "POST", "/api/estimaciones", "", """
+                {"codigoLote":"%s","tipoTerreno":"Edificio","numPisos":3,"numViviendas":4}""".formatted(codigo));
+        var estimacionId = id(estimacion);
+        invocar("GET /api/estimaciones/{id}", "GET", "/api/estimaciones/" + estimacionId, "", null);
+        invocar("PUT /api/estimaciones/{id}", "PUT", "/api/estimaciones/" + estimacionId, "", """
+                {"codigoLote":"%s","tipoTerreno":"Casa","numPisos":2,"numViviendas":1}""".formatted(codigo));
+        invocar("GET /api/estimaciones/lote/{loteId}", "GET", "/api/estimaciones/lote/" + loteId, "", null);
+        invocar("DELETE /api/estimaciones/{id}", "DELETE", "/api/estimaciones/" + estimacionId, "", null);
+
+        var ficha = invocar("POST /api/fichas", "POST", "/api/fichas", "", ficha(codigo, "001"));
+        var fichaId = id(ficha);
+        invocar("GET /api/fichas/{id}", "GET", "/api/fichas/" + fichaId, "", null);
+        invocar("PUT /api/fichas/{id}", "PUT", "/api/fichas/" + fichaId, "", ficha(codigo, "001"));
+        invocar("GET /api/fichas", "GET", "/api/fichas", "size=20", null);
+        var bulk = invocar("POST /api/fichas/bulk", "POST", "/api/fichas/bulk", "", "[" + ficha(codigo, "002") + "]");
+        invocar("GET /api/fichas/export", "GET", "/api/fichas/export", "sector=99", null);
+        invocar("GET /api/fichas/titulares", "GET", "/api/fichas/titulares", "q=harness", null);
+        invocar("GET /api/fichas/lote/{codigoLote}", "GET", "/api/fichas/lote/" + codigo, "", null);
+        invocar("DELETE /api/fichas/{id}", "DELETE", "/api/fichas/" + fichaId, "", null);
+        if (bulk != null && bulk.path("data").isArray()) {
+            for (var fila : bulk.get("data")) {
+                if (fila.path("success").asBoolean()) {
+                    invocar(null, "DELETE", "/api/fichas/" + fila.get("id").asLong(), "", null);
+                }
+            }
+        }
+
+        invocar("GET /api/estadisticas", "GET", "/api/estadisticas", "sector=99", null);
+        invocar("GET /api/estadisticas/manzanas", "GET", "/api/estadisticas/manzanas", "sector=99", null);
+        invocar("DELETE /api/lotes/{id}", "DELETE", "/api/lotes/" + loteId, "", null);
+    }
+
+    private static String ficha(String codigo, String unidad) {
+        return """
+                {"codigoLote":"%s","codigoSector":"99","codigoManzana":"999","codigoUnidad":"%s","codigoPiso":"01",
+                 "tipoPredio":"Casa Habitación","areaTerreno":120.00,"areaConstruccion":180.50,
+                 "titulares":[{"tipoTitular":"1","tipoDocumento":"DNI","numeroDocumento":"12345678",
+                               "apellidoPaterno":"Harness","nombres":"Prueba"}],
+                 "construcciones":[{"numeroPiso":1,"areaConstruida":90.25},{"numeroPiso":2,"areaConstruida":90.25}],
+                 "servicios":{"tieneLuz":true,"tieneAgua":true,"tieneDesague":false}}""".formatted(codigo, unidad);
+    }
+
+    private static long id(JsonNode respuesta) {
+        return respuesta != null ? respuesta.path("data").path("id").asLong() : 0;
+    }
+
+    private JsonNode invocar(String ruta, String metodo, String path, String query, String body)
+            throws IOException, InterruptedException {
+        var bytes = ApiGateway.evento(metodo, path, query, body);
+        byte[] salida;
+        long inicio = System.nanoTime();
+        if (endpoint != null) {
+            salida = http.send(HttpRequest.newBuilder(endpoint)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(bytes))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body();
+        } else {
+            var out = new ByteArrayOutputStream();
+            handler.handleRequest(new ByteArrayInputStream(bytes), out, ApiGateway.CONTEXTO);
+            salida = out.toByteArray();
+        }
+        double ms = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        var respuesta = MAPPER.readTree(salida);
+        int status = respuesta.path("statusCode").asInt();
+        if (ruta != null && medir) {
+            latencias.computeIfAbsent(ruta, k -> new ArrayList<>()).add(ms);
+            if (status == 0 || status >= 400) {
+                errores.merge(ruta, 1, Integer::sum);
+            }
+        }
+
+        var contenido = respuesta.path("body").asText(null);
+        if (contenido == null || respuesta.path("isBase64Encoded").asBoolean() || !contenido.startsWith("{")) {
+            return null;
+        }
+        return MAPPER.readTree(contenido);
+    }
+
+    // ==================== Utilidades ====================
+
+    static double percentil(double[] ordenados, double p) {
+        if (ordenados.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenados.length) - 1;
+        return ordenados[Math.max(0, Math.min(indice, ordenados.length - 1))];
+    }
+}
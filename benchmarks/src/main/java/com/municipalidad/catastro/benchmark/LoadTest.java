@@ -0,0 +1,347 @@
+package com.municipalidad.catastro.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Prueba de carga de punta a punta por HTTP contra la aplicación corriendo en local (modo JVM) con
+// una mezcla realista: 70% lecturas de ficha, 20% altas de estimación y 10% listados de lotes por
+// sector/manzana. Reporta p50/p95/p99, throughput, errores y descartes por ruta y los compara con una
+// baseline guardada. El throughput cuenta solo respuestas exitosas por segundo: la tasa ofrecida es
+// fija, pero lo que se logra baja cuando hay errores o requests descartados.
+//
+// La aplicación se levanta en modo dev contra la Postgres local (DB_* como en Lambda), con datos ya
+// cargados, por ejemplo con DatasetGenerator, pero con la configuración de prod:
+//
+//   mvn quarkus:dev -Dquarkus.profile=prod -Dquarkus.rest.output-buffer-size=1048576 \
+//       -Dquarkus.log.category.\"com.municipalidad.catastro\".level=INFO
+//   java -cp benchmarks/target/benchmarks.jar com.municipalidad.catastro.benchmark.LoadTest --rate 20
+//
+// Con el perfil prod no van los headers X-SQL-* y las métricas SQL salen como EMF por request, igual
+// que en Lambda; el buffer de salida es el de %dev, sin él el servidor simulado no entrega respuestas
+// chunked (más de 8 KB). Lo que no se puede apagar es el escaneo de live reload del modo dev, que
+// corre cada 2 s en el mismo hilo que toma los eventos: por eso solo se comparan corridas hechas así.
+// No hay otra forma de servir HTTP en local: fuera de dev/test el servidor simulado no arranca y el
+// runner JVM no consulta la Runtime API (el poll loop solo corre en el build nativo).
+//
+// En modo dev, quarkus-amazon-lambda-http atiende HTTP en :8080 con un servidor de eventos simulado que
+// convierte cada request en un evento API Gateway y se lo pasa al handler de a uno, como una instancia
+// de Lambda: la latencia medida incluye la cola frente a esa instancia.
+//
+// Modelo abierto: los requests salen a tasa fija y la latencia se cuenta desde el momento en que el
+// request debía salir, así una respuesta lenta no frena a las siguientes ni esconde su espera.
+//
+// Opciones: url (http://localhost:8080), rate (20 req/s), duration (60 s), warmup (10 s),
+// max-inflight (256), muestra (2000 fichas y lotes), semilla, output (JSON con el resultado),
+// baseline (benchmarks/carga-baseline.json), tolerancia (0.15) y update-baseline.
+// Si la baseline no existe se crea con esta corrida; si existe y una ruta empeora más que la
+// tolerancia, termina con código 1.
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String FICHA = "GET /api/fichas/{id}";
+    private static final String ESTIMACION = "POST /api/estimaciones";
+    private static final String LOTES = "GET /api/lotes?sector&manzana";
+
+    // Mezcla acumulada sobre 100: ficha < 70, estimación < 90, lotes el resto
+    private static final int HASTA_FICHA = 70;
+    private static final int HASTA_ESTIMACION = 90;
+
+    // Latencias que se comparan con la baseline (más es peor); el throughput se compara aparte
+    private static final List<String> PERCENTILES = List.of("p50", "p95", "p99");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String url;
+    private final SplittableRandom random;
+
+    private final List<Long> fichas = new ArrayList<>();
+    private final List<String> lotes = new ArrayList<>();
+    private final List<String> manzanas = new ArrayList<>();
+
+    private final Map<String, Ruta> rutas = new LinkedHashMap<>();
+    private final ConcurrentLinkedQueue<Long> estimacionesCreadas = new ConcurrentLinkedQueue<>();
+
+    private LoadTest(String url, long semilla) {
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.random = new SplittableRandom(semilla);
+        for (var ruta : List.of(FICHA, ESTIMACION, LOTES)) {
+            rutas.put(ruta, new Ruta());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var opciones = ApiGateway.opciones(args);
+        double tasa = Double.parseDouble(opciones.getOrDefault("rate", "20"));
+        int duracion = Integer.parseInt(opciones.getOrDefault("duration", "60"));
+        int calentamiento = Integer.parseInt(opciones.getOrDefault("warmup", "10"));
+        int maxEnVuelo = Integer.parseInt(opciones.getOrDefault("max-inflight", "256"));
+        int muestra = Integer.parseInt(opciones.getOrDefault("muestra", "2000"));
+        double tolerancia = Double.parseDouble(opciones.getOrDefault("tolerancia", "0.15"));
+        var baseline = Path.of(opciones.getOrDefault("baseline", "benchmarks/carga-baseline.json"));
+
+        var prueba = new LoadTest(opciones.getOrDefault("url", "http://localhost:8080"),
+                Long.parseLong(opciones.getOrDefault("semilla", "42")));
+        prueba.muestrear(muestra);
+
+        var inFlight = new Semaphore(maxEnVuelo);
+        try {
+            System.err.printf("Calentamiento: %d s a %.1f req/s%n", calentamiento, tasa);
+            prueba.correr(tasa, calentamiento, inFlight, false);
+            prueba.esperar(inFlight, maxEnVuelo);
+            System.err.printf("Medición: %d s a %.1f req/s%n", duracion, tasa);
+            prueba.correr(tasa, duracion, inFlight, true);
+            prueba.esperar(inFlight, maxEnVuelo);
+        } finally {
+            prueba.limpiar();
+        }
+
+        var resultado = prueba.resultado(tasa, duracion);
+        System.out.println(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(resultado));
+        if (opciones.containsKey("output")) {
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(Path.of(opciones.get("output")).toFile(), resultado);
+        }
+
+        if (!Files.exists(baseline) || opciones.containsKey("update-baseline")) {
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), resultado);
+            System.err.println("Baseline guardada en " + baseline);
+            return;
+        }
+        if (!comparar(MAPPER.readTree(baseline.toFile()), resultado, tolerancia)) {
+            System.exit(1);
+        }
+    }
+
+    // ==================== Datos ====================
+
+    // Ids de fichas y códigos de lote existentes, recorriendo las primeras páginas por cursor
+    private void muestrear(int muestra) throws IOException, InterruptedException {
+        for (var fila : paginas("/api/fichas", "view=summary&", muestra)) {
+            fichas.add(fila.get("id").asLong());
+        }
+        var distintas = new LinkedHashSet<String>();
+        for (var fila : paginas("/api/lotes", "", muestra)) {
+            lotes.add(fila.get("codigoLote").asText());
+            distintas.add("sector=" + fila.get("codigoSector").asText() + "&manzana=" + fila.get("codigoManzana").asText());
+        }
+        manzanas.addAll(distintas);
+        if (fichas.isEmpty() || lotes.isEmpty()) {
+            throw new IllegalStateException("La base no tiene fichas o lotes; cargar datos antes (DatasetGenerator)");
+        }
+        System.err.printf("Muestra: %d fichas, %d lotes, %d manzanas%n", fichas.size(), lotes.size(), manzanas.size());
+    }
+
+    private List<JsonNode> paginas(String path, String query, int limite) throws IOException, InterruptedException {
+        var filas = new ArrayList<JsonNode>();
+        var cursor = "";
+        while (filas.size() < limite && cursor != null) {
+            var respuesta = http.send(HttpRequest.newBuilder(URI.create(url + path + "?" + query + "size=200&cursor="
+                            + URLEncoder.encode(cursor, StandardCharsets.UTF_8))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 200) {
+                throw new IllegalStateException(path + " respondió " + respuesta.statusCode() + ": " + respuesta.body());
+            }
+            var cuerpo = MAPPER.readTree(respuesta.body());
+            cuerpo.path("data").forEach(filas::add);
+            cursor = cuerpo.path("nextCursor").asText(null);
+        }
+        return filas.size() > limite ? filas.subList(0, limite) : filas;
+    }
+
+    // Las estimaciones creadas durante la prueba se borran al final, fuera de la medición
+    private void limpiar() {
+        int borradas = 0;
+        for (var id : estimacionesCreadas) {
+            try {
+                http.send(HttpRequest.newBuilder(URI.create(url + "/api/estimaciones/" + id)).DELETE().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                borradas++;
+            } catch (IOException e) {
+                System.err.println("No se pudo borrar la estimación " + id + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        System.err.printf("Estimaciones borradas: %d%n", borradas);
+    }
+
+    // ==================== Carga ====================
+
+    private void correr(double tasa, int segundos, Semaphore inFlight, boolean medir) {
+        long intervalo = (long) (1_000_000_000L / tasa);
+        long inicio = System.nanoTime();
+        long total = (long) (tasa * segundos);
+        for (long i = 0; i < total; i++) {
+            long programado = inicio + i * intervalo;
+            long espera = programado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            int dado = random.nextInt(100);
+            var ruta = dado < HASTA_FICHA ? FICHA : dado < HASTA_ESTIMACION ? ESTIMACION : LOTES;
+            var estado = rutas.get(ruta);
+            if (!inFlight.tryAcquire()) {
+                // La aplicación no da abasto: el request no sale y cuenta aparte
+                if (medir) {
+                    estado.descartados.incrementAndGet();
+                }
+                continue;
+            }
+            http.sendAsync(request(ruta), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((respuesta, error) -> {
+                        inFlight.release();
+                        long fin = System.nanoTime();
+                        boolean ok = error == null && respuesta.statusCode() < 400;
+                        if (ok && ruta.equals(ESTIMACION)) {
+                            registrarEstimacion(respuesta.body());
+                        }
+                        if (medir) {
+                            estado.registrar((fin - programado) / 1_000_000.0, ok);
+                        }
+                    });
+        }
+    }
+
+    private void esperar(Semaphore inFlight, int maxEnVuelo) throws InterruptedException {
+        inFlight.acquire(maxEnVuelo);
+        inFlight.release(maxEnVuelo);
+    }
+
+    private HttpRequest request(String ruta) {
+        return switch (ruta) {
+            case FICHA -> HttpRequest.newBuilder(URI.create(url + "/api/fichas/" + elegir(fichas))).GET().build();
+            case ESTIMACION -> HttpRequest.newBuilder(URI.create(url + "/api/estimaciones"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"codigoLote":"%s","tipoTerreno":"Edificio","numPisos":%d,"numViviendas":%d}"""
+                            .formatted(elegir(lotes), 1 + random.nextInt(10), 1 + random.nextInt(20))))
+                    .build();
+            default -> HttpRequest.newBuilder(URI.create(url + "/api/lotes?" + elegir(manzanas))).GET().build();
+        };
+    }
+
+    private <T> T elegir(List<T> valores) {
+        return valores.get(random.nextInt(valores.size()));
+    }
+
+    private void registrarEstimacion(String cuerpo) {
+        try {
+            var id = MAPPER.readTree(cuerpo).path("data").path("id");
+            if (id.canConvertToLong()) {
+                estimacionesCreadas.add(id.asLong());
+            }
+        } catch (IOException e) {
+            // Sin id no hay nada que limpiar
+        }
+    }
+
+    // ==================== Resultado ====================
+
+    private ObjectNode resultado(double tasa, int duracion) {
+        var resultado = MAPPER.createObjectNode()
+                .put("rate", tasa)
+                .put("duration", duracion);
+        var nodo = resultado.putObject("rutas");
+        rutas.forEach((nombre, ruta) -> {
+            double[] valores;
+            synchronized (ruta) {
+                valores = ruta.latencias.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            }
+            nodo.putObject(nombre)
+                    .put("n", valores.length)
+                    .put("throughput", (valores.length - ruta.errores.get()) / (double) duracion)
+                    .put("p50", LambdaHarness.percentil(valores, 0.50))
+                    .put("p95", LambdaHarness.percentil(valores, 0.95))
+                    .put("p99", LambdaHarness.percentil(valores, 0.99))
+                    .put("errores", ruta.errores.get())
+                    .put("descartados", ruta.descartados.get());
+        });
+        return resultado;
+    }
+
+    // Tabla de comparación por ruta; falla si un percentil sube o el throughput baja más que la
+    // tolerancia, o si aparecen errores o descartes que la baseline no tenía
+    private static boolean comparar(JsonNode baseline, JsonNode actual, double tolerancia) {
+        if (baseline.path("rate").asDouble() != actual.path("rate").asDouble()) {
+            System.err.printf("Aviso: la baseline se midió a %.1f req/s y esta corrida a %.1f req/s%n",
+                    baseline.path("rate").asDouble(), actual.path("rate").asDouble());
+        }
+        boolean ok = true;
+        System.err.printf("%-32s %-10s %10s %10s %8s%n", "ruta", "métrica", "baseline", "actual", "Δ%");
+        var nombres = actual.path("rutas").fieldNames();
+        while (nombres.hasNext()) {
+            var nombre = nombres.next();
+            var a = actual.path("rutas").path(nombre);
+            var b = baseline.path("rutas").path(nombre);
+            if (b.isMissingNode()) {
+                System.err.printf("%-32s sin baseline%n", nombre);
+                continue;
+            }
+            for (var p : PERCENTILES) {
+                ok &= fila(nombre, p, b.path(p).asDouble(), a.path(p).asDouble(), tolerancia, true);
+            }
+            ok &= fila(nombre, "throughput", b.path("throughput").asDouble(), a.path("throughput").asDouble(),
+                    tolerancia, false);
+            for (var contador : List.of("errores", "descartados")) {
+                double tasaBase = b.path(contador).asDouble() / Math.max(1, b.path("n").asDouble());
+                double tasaActual = a.path(contador).asDouble() / Math.max(1, a.path("n").asDouble());
+                // Tolerancia absoluta de un punto porcentual sobre la tasa de la baseline
+                boolean bien = tasaActual <= tasaBase + 0.01;
+                System.err.printf(Locale.ROOT, "%-32s %-10s %10.4f %10.4f %8s%s%n", nombre, contador,
+                        tasaBase, tasaActual, "", bien ? "" : "  REGRESIÓN");
+                ok &= bien;
+            }
+        }
+        System.err.println(ok ? "Sin regresiones frente a la baseline" : "Hay regresiones frente a la baseline");
+        return ok;
+    }
+
+    private static boolean fila(String ruta, String metrica, double base, double actual, double tolerancia,
+                                boolean masEsPeor) {
+        double delta = base == 0 ? 0 : (actual - base) / base;
+        boolean bien = masEsPeor ? delta <= tolerancia : delta >= -tolerancia;
+        System.err.printf(Locale.ROOT, "%-32s %-10s %10.2f %10.2f %+7.1f%%%s%n", ruta, metrica, base, actual,
+                delta * 100, bien ? "" : "  REGRESIÓN");
+        return bien;
+    }
+
+    // Latencias en ms de una ruta; se escriben desde los hilos del cliente HTTP
+    private static final class Ruta {
+        final List<Double> latencias = new ArrayList<>();
+        final AtomicInteger errores = new AtomicInteger();
+        final AtomicInteger descartados = new AtomicInteger();
+
+        synchronized void registrar(double ms, boolean ok) {
+            latencias.add(ms);
+            if (!ok) {
+                errores.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.municipalidad.catastro.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.municipalidad.catastro.dto.ApiResponse;
+import com.municipalidad.catastro.dto.FichaCatastralDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Serialización del sobre ApiResponse<List<FichaCatastralDTO>> tal como lo escribe el handler
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int fichas;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<FichaCatastralDTO>> response;
+
+    @Setup
+    public void setup() {
+        // Misma configuración que el ObjectMapper por defecto de Quarkus
+        var mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, FichaCatastralDTO.class)));
+        response = ApiResponse.success(Datos.fichas(fichas));
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,63 @@
+package com.municipalidad.catastro.domain;
+
+import com.municipalidad.catastro.domain.ficha.*;
+import com.municipalidad.catastro.domain.lote.Estimacion;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Cálculos de las entidades usados por los servicios y las estadísticas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculoBenchmark {
+
+    @Param({"1", "5", "20"})
+    int construcciones;
+
+    private Estimacion estimacion;
+    private FichaCatastral ficha;
+    private Servicio servicio;
+
+    @Setup
+    public void setup() {
+        estimacion = new Estimacion();
+        estimacion.numViviendas = 8;
+        estimacion.numComercios = 2;
+        estimacion.numIndustrias = null;
+        estimacion.numEducacion = 1;
+        estimacion.numEstacionamientos = 1;
+
+        ficha = new FichaCatastral();
+        for (int i = 0; i < construcciones; i++) {
+            var c = new Construccion();
+            c.numeroPiso = i + 1;
+            // Un piso sin área para cubrir la rama de nulos
+            c.areaConstruida = i % 4 == 3 ? null : new BigDecimal("120.25").add(BigDecimal.valueOf(i));
+            ficha.addConstruccion(c);
+        }
+
+        servicio = new Servicio();
+        servicio.tieneLuz = true;
+        servicio.tieneAgua = true;
+        servicio.tieneDesague = false;
+    }
+
+    @Benchmark
+    public Integer calcularTotalUnidades() {
+        return estimacion.calcularTotalUnidades();
+    }
+
+    @Benchmark
+    public BigDecimal calcularAreaTotalConstruccion() {
+        return ficha.calcularAreaTotalConstruccion();
+    }
+
+    @Benchmark
+    public int contarServiciosBasicos() {
+        return servicio.contarServiciosBasicos();
+    }
+}
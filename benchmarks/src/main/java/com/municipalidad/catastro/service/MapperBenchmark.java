@@ -0,0 +1,120 @@
+package com.municipalidad.catastro.service;
+
+import com.municipalidad.catastro.benchmark.Datos;
+import com.municipalidad.catastro.domain.ficha.*;
+import com.municipalidad.catastro.domain.lote.*;
+import com.municipalidad.catastro.dto.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Mappers escritos a mano entre entidades y DTOs; vive en el paquete de los servicios
+// porque los métodos map* son visibles solo dentro del paquete
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final FichaCatastralService fichaService = new FichaCatastralService();
+    private final EstimacionService estimacionService = new EstimacionService();
+    private final LoteService loteService = new LoteService();
+    private final FotoService fotoService = new FotoService();
+
+    private FichaCatastralDTO fichaDTO;
+    private FichaCatastral ficha;
+    private EstimacionDTO estimacionDTO;
+    private Estimacion estimacion;
+    private LoteDTO loteDTO;
+    private Lote lote;
+    private FotoDTO fotoDTO;
+    private Foto foto;
+
+    @Setup
+    public void setup() {
+        fichaDTO = Datos.ficha(1, 2, 3);
+        ficha = fichaEntity(fichaDTO);
+
+        estimacionDTO = Datos.estimacion(1);
+        estimacion = estimacionService.mapToEntity(estimacionDTO);
+        estimacion.id = estimacionDTO.id();
+
+        loteDTO = Datos.lote(1);
+        lote = loteService.mapToEntity(loteDTO);
+        lote.id = loteDTO.id();
+        lote.fechaCreacion = loteDTO.fechaCreacion();
+        lote.fechaModificacion = loteDTO.fechaModificacion();
+        estimacion.lote = lote;
+
+        fotoDTO = Datos.foto(1);
+        foto = fotoService.mapToEntity(fotoDTO);
+        foto.id = fotoDTO.id();
+        foto.lote = lote;
+    }
+
+    // Ficha con 2 titulares, 3 construcciones y servicio, igual que en mapToDTOs
+    @Benchmark
+    public FichaCatastralDTO fichaToDTO() {
+        return fichaService.mapToDTO(ficha,
+                ficha.titulares.stream().map(fichaService::mapTitularToDTO).toList(),
+                ficha.construcciones.stream().map(fichaService::mapConstruccionToDTO).toList(),
+                fichaService.mapServicioToDTO(ficha.servicios));
+    }
+
+    @Benchmark
+    public FichaCatastral fichaToEntity() {
+        return fichaEntity(fichaDTO);
+    }
+
+    @Benchmark
+    public EstimacionDTO estimacionToDTO() {
+        return estimacionService.mapToDTO(estimacion);
+    }
+
+    @Benchmark
+    public Estimacion estimacionToEntity() {
+        return estimacionService.mapToEntity(estimacionDTO);
+    }
+
+    @Benchmark
+    public LoteDTO loteToDTO() {
+        return loteService.mapToDTO(lote);
+    }
+
+    @Benchmark
+    public Lote loteToEntity() {
+        return loteService.mapToEntity(loteDTO);
+    }
+
+    @Benchmark
+    public FotoDTO fotoToDTO() {
+        return fotoService.mapToDTO(foto);
+    }
+
+    @Benchmark
+    public Foto fotoToEntity() {
+        return fotoService.mapToEntity(fotoDTO);
+    }
+
+    // Mismo recorrido que persistFicha, sin el persist
+    private FichaCatastral fichaEntity(FichaCatastralDTO dto) {
+        var f = fichaService.mapToEntity(dto);
+        f.id = dto.id();
+        for (var t : dto.titulares()) {
+            var titular = fichaService.mapTitularToEntity(t);
+            titular.id = t.id();
+            f.addTitular(titular);
+        }
+        for (var c : dto.construcciones()) {
+            var construccion = fichaService.mapConstruccionToEntity(c);
+            construccion.id = c.id();
+            f.addConstruccion(construccion);
+        }
+        var servicio = fichaService.mapServicioToEntity(dto.servicios());
+        servicio.id = dto.servicios().id();
+        servicio.ficha = f;
+        f.servicios = servicio;
+        return f;
+    }
+}
@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# Empaqueta una función con un archivo AppCDS (class data sharing) generado por una corrida de
+# entrenamiento, para despliegues JVM sin imagen nativa (serverless deploy --param="build=appcds").
+#
+#   scripts/appcds.sh <lote|estimacion|ficha|estadistica>
+#
+# El entrenamiento corre en la imagen base de Lambda con el emulador de runtime: el archivo solo
+# sirve con el mismo JDK y el mismo class loader del runtime java21, así que no se genera en local.
+# Requiere docker y una Postgres con db.schema.sql alcanzable desde el contenedor
+# (DB_HOST=host.docker.internal, DB_PORT, DB_NAME, DB_USER, DB_PASSWORD).
+#
+# Resultado: target/<función>/function.zip con lib/*.jar y app-cds.jsa. La aplicación va como jar en
+# lib/ y no descomprimida en la raíz: CDS solo archiva clases cargadas desde jars.
+# Regenerar cuando AWS actualice el runtime java21; con otro JDK la JVM ignora el archivo (-Xshare:auto).
+#
+# No se usa quarkus.package.jar.appcds.*: esa opción entrena durante mvn package arrancando y deteniendo
+# la aplicación con java -jar, así que el archivo solo cubre el arranque (no el primer request de cada
+# ruta), queda atado al classpath del runner jar y no al que arma el runtime java21 de Lambda (la JVM
+# lo descarta por classpath distinto) y necesita la base de datos disponible en el build.
+
+set -euo pipefail
+
+FUNCION=${1:?"uso: scripts/appcds.sh <lote|estimacion|ficha|estadistica>"}
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+TARGET="$RAIZ/target/$FUNCION"
+TAREA="$TARGET/appcds"
+IMAGEN=${IMAGEN:-public.ecr.aws/lambda/java:21}
+ITERACIONES=${ITERACIONES:-20}
+PUERTO=${PUERTO:-9000}
+CONTENEDOR="catastro-appcds-$FUNCION"
+HANDLER=io.quarkus.amazon.lambda.runtime.QuarkusStreamHandler::handleRequest
+
+# Mismas opciones que JAVA_TOOL_OPTIONS en serverless.yml, más el volcado del archivo al salir
+JAVA_OPTS="-XX:+TieredCompilation -XX:TieredStopAtLevel=1 -Djava.awt.headless=true \
+-Dquarkus.http.io-threads=2 -Dquarkus.vertx.worker-pool-size=4 \
+-XX:ArchiveClassesAtExit=/var/task/app-cds.jsa"
+
+echo "==> Construyendo la función $FUNCION y el harness"
+mvn -B -q -f "$RAIZ/pom.xml" install -DskipTests
+mvn -B -q -f "$RAIZ/pom.xml" package -DskipTests "-Pfunction-$FUNCION"
+mvn -B -q -f "$RAIZ/benchmarks/pom.xml" package
+
+rm -rf "$TAREA"
+mkdir -p "$TAREA/lib"
+cp "$TARGET"/lib/*.jar "$TAREA/lib/"
+cp "$TARGET/catastro-api-1.0.0-SNAPSHOT-runner.jar" "$TAREA/lib/"
+
+echo "==> Entrenamiento en $IMAGEN"
+docker rm -f "$CONTENEDOR" >/dev/null 2>&1 || true
+docker run -d --name "$CONTENEDOR" -p "$PUERTO:8080" \
+    -v "$TAREA:/var/task" \
+    -e JAVA_TOOL_OPTIONS="$JAVA_OPTS" \
+    -e QUARKUS_PROFILE=prod \
+    -e DB_HOST -e DB_PORT -e DB_NAME -e DB_USER -e DB_PASSWORD \
+    --add-host=host.docker.internal:host-gateway \
+    "$IMAGEN" "$HANDLER" >/dev/null
+trap 'docker rm -f "$CONTENEDOR" >/dev/null 2>&1 || true' EXIT
+
+for _ in $(seq 1 30); do
+    curl -s -o /dev/null "http://localhost:$PUERTO/" && break
+    sleep 1
+done
+java -cp "$RAIZ/benchmarks/target/benchmarks.jar" com.municipalidad.catastro.benchmark.LambdaHarness \
+    --endpoint "http://localhost:$PUERTO/2015-03-31/functions/function/invocations" \
+    --iterations "$ITERACIONES" --warmup 0
+
+# El archivo se escribe cuando la JVM termina de forma ordenada: SIGTERM directo al proceso java,
+# sin depender de cómo el emulador detiene el runtime. docker stop solo señala al PID 1 (el
+# emulador), que no reenvía la señal y termina el runtime sin dar tiempo al volcado. La imagen
+# base no trae ps ni pkill, así que el pid de java se busca por el ejecutable en /proc.
+docker exec "$CONTENEDOR" sh -c 'for p in /proc/[0-9]*; do
+    case "$(readlink "$p/exe")" in */java) kill -TERM "${p#/proc/}" ;; esac; done' || true
+# El volcado termina después de que kill retorna y puede tardar segundos: se espera hasta que el
+# archivo exista y su tamaño no cambie entre dos lecturas (máximo 60 s)
+ANTERIOR=-1
+for _ in $(seq 1 60); do
+    sleep 1
+    ACTUAL=$(stat -c %s "$TAREA/app-cds.jsa" 2>/dev/null || echo 0)
+    [ "$ACTUAL" -gt 0 ] && [ "$ACTUAL" -eq "$ANTERIOR" ] && break
+    ANTERIOR=$ACTUAL
+done
+if [ ! -s "$TAREA/app-cds.jsa" ]; then
+    echo "No se generó app-cds.jsa; revisar: docker logs $CONTENEDOR" >&2
+    exit 1
+fi
+
+rm -f "$TARGET/function.zip"
+(cd "$TAREA" && zip -qr "$TARGET/function.zip" lib app-cds.jsa)
+echo "==> $TARGET/function.zip ($(du -h "$TAREA/app-cds.jsa" | cut -f1) de AppCDS)"
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+#
+# Construye los cuatro artefactos que despliega serverless.yml (target/<función>/function.zip).
+# Cada perfil -Pfunction-* cambia el directorio de build, así que no se combinan en una sola
+# invocación de mvn: se construye uno por uno.
+#
+#   scripts/package.sh                  build jvm
+#   scripts/package.sh -Pnative         build native (serverless deploy --param="build=native")
+#
+# Los argumentos se pasan tal cual a mvn package. Para la build appcds usar scripts/appcds.sh.
+
+set -euo pipefail
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+
+for FUNCION in lote estimacion ficha estadistica; do
+    echo "==> Construyendo la función $FUNCION"
+    mvn -B -q -f "$RAIZ/pom.xml" package -DskipTests "-Pfunction-$FUNCION" "$@"
+    ls -l "$RAIZ/target/$FUNCION/function.zip"
+done
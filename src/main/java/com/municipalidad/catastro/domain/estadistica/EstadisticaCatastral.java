@@ -0,0 +1,44 @@
+package com.municipalidad.catastro.domain.estadistica;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Contadores pre-agregados por (sector, manzana), mantenidos de forma incremental por los servicios
+@Entity
+@Table(name = "estadistica_catastral", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_estadistica_clave",
+                columnNames = {"codigo_sector", "codigo_manzana", "indicador", "valor"})
+})
+public class EstadisticaCatastral extends PanacheEntityBase {
+
+    // Indicadores
+    public static final String LOTES = "LOTES";
+    public static final String FICHAS = "FICHAS";
+    public static final String FICHAS_TIPO_PREDIO = "FICHAS_TIPO_PREDIO";
+    public static final String SERVICIOS_BASICOS_COMPLETOS = "SERVICIOS_BASICOS_COMPLETOS";
+    public static final String SIN_SERVICIOS_BASICOS = "SIN_SERVICIOS_BASICOS";
+    public static final String ESTIMACIONES_TIPO_TERRENO = "ESTIMACIONES_TIPO_TERRENO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "codigo_sector", nullable = false, length = 2)
+    public String codigoSector;
+
+    @Column(name = "codigo_manzana", nullable = false, length = 3)
+    public String codigoManzana;
+
+    @Column(name = "indicador", nullable = false, length = 30)
+    public String indicador;
+
+    @Column(name = "valor", nullable = false, length = 50)
+    public String valor; // Tipo de predio o de terreno; vacío para contadores simples
+
+    @Column(name = "total", nullable = false)
+    public long total;
+
+    @Column(name = "fecha_modificacion", nullable = false)
+    public LocalDateTime fechaModificacion;
+}
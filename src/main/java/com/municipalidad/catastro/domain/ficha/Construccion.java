@@ -1,4 +1,4 @@
-package com.municipalidad.catastro.domain;
+package com.municipalidad.catastro.domain.ficha;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
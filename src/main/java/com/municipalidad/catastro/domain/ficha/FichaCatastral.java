@@ -1,4 +1,4 @@
-package com.municipalidad.catastro.domain;
+package com.municipalidad.catastro.domain.ficha;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
@@ -12,7 +12,8 @@ import java.util.List;
 @Table(name = "ficha_catastral", indexes = {
         @Index(name = "idx_ficha_codigo", columnList = "codigo_lote"),
         @Index(name = "idx_ficha_sector", columnList = "codigo_sector"),
-        @Index(name = "idx_ficha_tipo", columnList = "tipo_predio")
+        @Index(name = "idx_ficha_tipo", columnList = "tipo_predio"),
+        @Index(name = "idx_ficha_creacion", columnList = "fecha_creacion, id")
 })
 public class FichaCatastral extends PanacheEntity {
 
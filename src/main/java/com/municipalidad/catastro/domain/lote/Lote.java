@@ -1,4 +1,4 @@
-package com.municipalidad.catastro.domain;
+package com.municipalidad.catastro.domain.lote;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
@@ -11,7 +11,8 @@ import java.util.List;
 @Table(name = "lote", indexes = {
         @Index(name = "idx_lote_codigo", columnList = "codigo_lote"),
         @Index(name = "idx_lote_sector", columnList = "codigo_sector"),
-        @Index(name = "idx_lote_manzana", columnList = "codigo_manzana")
+        @Index(name = "idx_lote_manzana", columnList = "codigo_manzana"),
+        @Index(name = "idx_lote_creacion", columnList = "fecha_creacion, id")
 })
 public class Lote extends PanacheEntity {
 
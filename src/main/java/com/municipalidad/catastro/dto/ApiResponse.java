@@ -10,7 +10,8 @@ public record ApiResponse<T>(
         T data,
         String error,
         LocalDateTime timestamp,
-        Integer statusCode
+        Integer statusCode,
+        String nextCursor
 ) {
     public static <T> ApiResponse<T> success(T data) {
         return new ApiResponse<>(
@@ -19,7 +20,8 @@ public record ApiResponse<T>(
                 data,
                 null,
                 LocalDateTime.now(),
-                200
+                200,
+                null
         );
     }
 
@@ -30,7 +32,20 @@ public record ApiResponse<T>(
                 data,
                 null,
                 LocalDateTime.now(),
-                200
+                200,
+                null
+        );
+    }
+
+    public static <T> ApiResponse<T> page(T data, String nextCursor) {
+        return new ApiResponse<>(
+                true,
+                "Operación exitosa",
+                data,
+                null,
+                LocalDateTime.now(),
+                200,
+                nextCursor
         );
     }
 
@@ -41,7 +56,8 @@ public record ApiResponse<T>(
                 data,
                 null,
                 LocalDateTime.now(),
-                201
+                201,
+                null
         );
     }
 
@@ -52,7 +68,8 @@ public record ApiResponse<T>(
                 null,
                 error,
                 LocalDateTime.now(),
-                400
+                400,
+                null
         );
     }
 
@@ -63,7 +80,8 @@ public record ApiResponse<T>(
                 null,
                 error,
                 LocalDateTime.now(),
-                statusCode
+                statusCode,
+                null
         );
     }
 
@@ -74,7 +92,8 @@ public record ApiResponse<T>(
                 null,
                 error,
                 LocalDateTime.now(),
-                404
+                404,
+                null
         );
     }
 }
@@ -0,0 +1,24 @@
+package com.municipalidad.catastro.dto;
+
+import java.util.List;
+
+// Grilla de densidad: origen en la esquina suroeste, solo se incluyen las celdas con lotes
+public record DensidadDTO(
+        String codigoSector,
+        double tamanoCeldaMetros,
+        double origenLatitud,
+        double origenLongitud,
+        double celdaLatitud,
+        double celdaLongitud,
+        int filas,
+        int columnas,
+        List<Celda> celdas
+) {
+    public record Celda(
+            int fila,
+            int columna,
+            int lotes,
+            long viviendas,
+            double areaConstruida
+    ) {}
+}
@@ -0,0 +1,16 @@
+package com.municipalidad.catastro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EstadisticaDTO(
+        String codigoSector,
+        String codigoManzana,
+        long lotes,
+        long fichas,
+        long fichasConServiciosBasicos,
+        long fichasSinServiciosBasicos,
+        Map<String, Long> fichasPorTipoPredio,
+        Map<String, Long> estimacionesPorTipoTerreno
+) {}
@@ -0,0 +1,12 @@
+package com.municipalidad.catastro.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.time.LocalDateTime;
+
+// Ficha completa ya serializada por Postgres; Jackson la escribe tal cual dentro de ApiResponse
+public record FichaJson(
+        @JsonIgnore LocalDateTime fechaModificacion,
+        @JsonValue @JsonRawValue String json
+) {}
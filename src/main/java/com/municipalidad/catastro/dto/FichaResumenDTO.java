@@ -0,0 +1,20 @@
+package com.municipalidad.catastro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Vista liviana para mapas y grillas; se llena con una proyección JPQL sin cargar entidades
+public record FichaResumenDTO(
+        Long id,
+        String codigoLote,
+        String codigoSector,
+        String codigoManzana,
+        String codigoUnidad,
+        String codigoPiso,
+        String tipoPredio,
+        String usoPredio,
+        BigDecimal areaTerreno,
+        BigDecimal areaConstruccion,
+        BigDecimal areaVerificada,
+        LocalDateTime fechaCreacion
+) {}
@@ -0,0 +1,20 @@
+package com.municipalidad.catastro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportResultDTO(
+        int fila,
+        boolean success,
+        Long id,
+        String codigoLote,
+        String error
+) {
+    public static ImportResultDTO created(int fila, Long id, String codigoLote) {
+        return new ImportResultDTO(fila, true, id, codigoLote, null);
+    }
+
+    public static ImportResultDTO error(int fila, String codigoLote, String error) {
+        return new ImportResultDTO(fila, false, null, codigoLote, error);
+    }
+}
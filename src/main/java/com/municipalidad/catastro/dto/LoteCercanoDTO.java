@@ -0,0 +1,14 @@
+package com.municipalidad.catastro.dto;
+
+import java.math.BigDecimal;
+
+public record LoteCercanoDTO(
+        Long id,
+        String codigoSector,
+        String codigoManzana,
+        String codigoLote,
+        BigDecimal latitud,
+        BigDecimal longitud,
+        BigDecimal precisionMetros,
+        double distanciaMetros
+) {}
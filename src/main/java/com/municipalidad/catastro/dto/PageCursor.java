@@ -0,0 +1,63 @@
+package com.municipalidad.catastro.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Cursor opaco para paginación por clave (fechaCreacion, id)
+public record PageCursor(
+        LocalDateTime fechaCreacion,
+        Long id
+) {
+    // Tope del tamaño de página; acota también el size + 1 que se pide a la base
+    public static final int MAX_SIZE = 200;
+
+    public String encode() {
+        var raw = fechaCreacion + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Retorna null para la primera página; lanza IllegalArgumentException si el cursor no es válido
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split("\\|", 2);
+            return new PageCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+
+    // Una página por clave: pide un registro extra para saber si hay página siguiente y arma el cursor
+    // con la clave del último registro. Tamaño o cursor inválidos se devuelven como error
+    public static <E, T> ApiResponse<T> page(String cursor, int size,
+                                             BiFunction<PageCursor, Integer, List<E>> fetch,
+                                             Function<E, PageCursor> key,
+                                             Function<List<E>, T> mapper) {
+        if (size < 1 || size > MAX_SIZE) {
+            return ApiResponse.error("El tamaño de página debe estar entre 1 y " + MAX_SIZE);
+        }
+
+        PageCursor after;
+        try {
+            after = decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        }
+
+        var rows = fetch.apply(after, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = key.apply(rows.get(size - 1)).encode();
+        }
+        return ApiResponse.page(mapper.apply(rows), nextCursor);
+    }
+}
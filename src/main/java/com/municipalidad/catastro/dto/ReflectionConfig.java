@@ -0,0 +1,30 @@
+package com.municipalidad.catastro.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+// Registro para la imagen nativa: los resources devuelven Response, así que Quarkus no puede
+// deducir qué tipos serializa Jackson; FichaResumenDTO además se instancia desde HQL (SELECT new)
+@RegisterForReflection(targets = {
+        ApiResponse.class,
+        ConstruccionDTO.class,
+        DensidadDTO.class,
+        DensidadDTO.Celda.class,
+        EstadisticaDTO.class,
+        EstimacionDTO.class,
+        FichaCatastralDTO.class,
+        FichaJson.class,
+        FichaResumenDTO.class,
+        FotoDTO.class,
+        ImportResultDTO.class,
+        LoteCercanoDTO.class,
+        LoteDTO.class,
+        PageCursor.class,
+        ServicioDTO.class,
+        TitularBusquedaDTO.class,
+        TitularDTO.class
+})
+final class ReflectionConfig {
+
+    private ReflectionConfig() {
+    }
+}
@@ -0,0 +1,15 @@
+package com.municipalidad.catastro.dto;
+
+public record TitularBusquedaDTO(
+        Long id,
+        Long fichaId,
+        String codigoLote,
+        String tipoTitular,
+        String tipoDocumento,
+        String numeroDocumento,
+        String apellidoPaterno,
+        String apellidoMaterno,
+        String nombres,
+        String razonSocial,
+        double score
+) {}
@@ -1,32 +1,37 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.Construccion;
+import com.municipalidad.catastro.domain.ficha.Construccion;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @ApplicationScoped
 public class ConstruccionRepository implements PanacheRepository<Construccion> {
 
     public List<Construccion> findByFichaId(Long fichaId) {
-        return list("ficha.id ORDER BY numeroPiso", fichaId);
+        return list("ficha.id = ?1 ORDER BY numeroPiso", fichaId);
+    }
+
+    public List<Construccion> findByFichaIds(Collection<Long> fichaIds) {
+        return list("ficha.id in ?1 ORDER BY ficha.id, numeroPiso", fichaIds);
     }
 
     public List<Construccion> findByEstadoConservacion(String estado) {
-        return list("estadoConservacion ORDER BY fechaCreacion DESC", estado);
+        return list("estadoConservacion = ?1 ORDER BY fechaCreacion DESC", estado);
     }
 
     public List<Construccion> findByEstadoConstruccion(String estado) {
-        return list("estadoConstruccion ORDER BY fechaCreacion DESC", estado);
+        return list("estadoConstruccion = ?1 ORDER BY fechaCreacion DESC", estado);
     }
 
     public List<Construccion> findByMaterialEstructural(String material) {
-        return list("materialEstructural ORDER BY fechaCreacion DESC", material);
+        return list("materialEstructural = ?1 ORDER BY fechaCreacion DESC", material);
     }
 
     public List<Construccion> findByNumeroPiso(Integer numeroPiso) {
-        return list("numeroPiso ORDER BY fechaCreacion DESC", numeroPiso);
+        return list("numeroPiso = ?1 ORDER BY fechaCreacion DESC", numeroPiso);
     }
 
     public List<Construccion> findByAreaConstruidaRange(BigDecimal minArea, BigDecimal maxArea) {
@@ -0,0 +1,107 @@
+package com.municipalidad.catastro.repository;
+
+import com.municipalidad.catastro.domain.estadistica.EstadisticaCatastral;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.HashMap;
+import java.util.List;
+import java.util.StringJoiner;
+
+@ApplicationScoped
+public class EstadisticaRepository implements PanacheRepository<EstadisticaCatastral> {
+
+    public void incrementar(String codigoSector, String codigoManzana,
+                            String indicador, String valor, long delta) {
+        getEntityManager().createNativeQuery(
+                        "INSERT INTO estadistica_catastral " +
+                        "(codigo_sector, codigo_manzana, indicador, valor, total, fecha_modificacion) " +
+                        "VALUES (?1, ?2, ?3, ?4, ?5, now()) " +
+                        "ON CONFLICT (codigo_sector, codigo_manzana, indicador, valor) " +
+                        "DO UPDATE SET total = estadistica_catastral.total + EXCLUDED.total, " +
+                        "fecha_modificacion = now()")
+                .setParameter(1, codigoSector)
+                .setParameter(2, codigoManzana)
+                .setParameter(3, indicador)
+                .setParameter(4, valor)
+                .setParameter(5, delta)
+                .executeUpdate();
+    }
+
+    // Igual que incrementar, pero toma el sector y la manzana del lote en la misma sentencia
+    public void incrementarPorLote(Long loteId, String indicador, String valor, long delta) {
+        getEntityManager().createNativeQuery(
+                        "INSERT INTO estadistica_catastral " +
+                        "(codigo_sector, codigo_manzana, indicador, valor, total, fecha_modificacion) " +
+                        "SELECT l.codigo_sector, l.codigo_manzana, ?2, ?3, ?4, now() " +
+                        "FROM lote l WHERE l.id = ?1 " +
+                        "ON CONFLICT (codigo_sector, codigo_manzana, indicador, valor) " +
+                        "DO UPDATE SET total = estadistica_catastral.total + EXCLUDED.total, " +
+                        "fecha_modificacion = now()")
+                .setParameter(1, loteId)
+                .setParameter(2, indicador)
+                .setParameter(3, valor)
+                .setParameter(4, delta)
+                .executeUpdate();
+    }
+
+    // Filas (indicador, valor, total) sumadas para el filtro; ambos filtros son opcionales
+    public List<Object[]> sumByIndicador(String codigoSector, String codigoManzana) {
+        var where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        var params = new HashMap<String, Object>();
+        if (codigoSector != null) {
+            where.add("e.codigoSector = :sector");
+            params.put("sector", codigoSector);
+        }
+        if (codigoManzana != null) {
+            where.add("e.codigoManzana = :manzana");
+            params.put("manzana", codigoManzana);
+        }
+
+        var query = getEntityManager().createQuery(
+                "SELECT e.indicador, e.valor, SUM(e.total) FROM EstadisticaCatastral e" + where +
+                " GROUP BY e.indicador, e.valor", Object[].class);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    public List<EstadisticaCatastral> findBySector(String codigoSector) {
+        return list("codigoSector = ?1 ORDER BY codigoManzana", codigoSector);
+    }
+
+    // Reconstruye todos los contadores a partir de las tablas base. El lock bloquea los upserts
+    // incrementales hasta el commit: uno que insertara una clave nueva entre el DELETE y los INSERT
+    // haría fallar la reconstrucción con uk_estadistica_clave
+    public void recalcular() {
+        var em = getEntityManager();
+        em.createNativeQuery("LOCK TABLE estadistica_catastral IN SHARE ROW EXCLUSIVE MODE").executeUpdate();
+        em.createNativeQuery("DELETE FROM estadistica_catastral").executeUpdate();
+
+        var insert = "INSERT INTO estadistica_catastral " +
+                "(codigo_sector, codigo_manzana, indicador, valor, total, fecha_modificacion) ";
+        em.createNativeQuery(insert +
+                "SELECT codigo_sector, codigo_manzana, 'LOTES', '', COUNT(*), now() " +
+                "FROM lote GROUP BY codigo_sector, codigo_manzana").executeUpdate();
+        em.createNativeQuery(insert +
+                "SELECT COALESCE(codigo_sector, ''), COALESCE(codigo_manzana, ''), 'FICHAS', '', COUNT(*), now() " +
+                "FROM ficha_catastral GROUP BY 1, 2").executeUpdate();
+        em.createNativeQuery(insert +
+                "SELECT COALESCE(codigo_sector, ''), COALESCE(codigo_manzana, ''), 'FICHAS_TIPO_PREDIO', " +
+                "COALESCE(tipo_predio, ''), COUNT(*), now() " +
+                "FROM ficha_catastral GROUP BY 1, 2, 4").executeUpdate();
+        em.createNativeQuery(insert +
+                "SELECT COALESCE(f.codigo_sector, ''), COALESCE(f.codigo_manzana, ''), " +
+                "'SERVICIOS_BASICOS_COMPLETOS', '', COUNT(*), now() " +
+                "FROM servicio s JOIN ficha_catastral f ON f.id = s.ficha_id " +
+                "WHERE s.tiene_luz AND s.tiene_agua AND s.tiene_desague GROUP BY 1, 2").executeUpdate();
+        em.createNativeQuery(insert +
+                "SELECT COALESCE(f.codigo_sector, ''), COALESCE(f.codigo_manzana, ''), " +
+                "'SIN_SERVICIOS_BASICOS', '', COUNT(*), now() " +
+                "FROM servicio s JOIN ficha_catastral f ON f.id = s.ficha_id " +
+                "WHERE NOT COALESCE(s.tiene_luz, false) AND NOT COALESCE(s.tiene_agua, false) " +
+                "AND NOT COALESCE(s.tiene_desague, false) GROUP BY 1, 2").executeUpdate();
+        em.createNativeQuery(insert +
+                "SELECT l.codigo_sector, l.codigo_manzana, 'ESTIMACIONES_TIPO_TERRENO', " +
+                "COALESCE(e.tipo_terreno, ''), COUNT(*), now() " +
+                "FROM estimacion e JOIN lote l ON l.id = e.lote_id GROUP BY 1, 2, 4").executeUpdate();
+    }
+}
@@ -1,20 +1,24 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.Estimacion;
+import com.municipalidad.catastro.domain.lote.Estimacion;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Tuple;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ApplicationScoped
 public class EstimacionRepository implements PanacheRepository<Estimacion> {
 
     public List<Estimacion> findByLoteId(Long loteId) {
-        return list("lote.id ORDER BY fechaCreacion DESC", loteId);
+        return list("lote.id = ?1 ORDER BY fechaCreacion DESC", loteId);
     }
 
     public Optional<Estimacion> findByCodigoLote(String codigoLote) {
-        return find("codigoLote ORDER BY fechaCreacion DESC", codigoLote)
+        return find("codigoLote = ?1 ORDER BY fechaCreacion DESC", codigoLote)
                 .firstResultOptional();
     }
 
@@ -30,6 +34,17 @@ public class EstimacionRepository implements PanacheRepository<Estimacion> {
         return count("tipoTerreno", tipoTerreno);
     }
 
+    // Estimaciones de un lote agrupadas por tipo de terreno (null como "")
+    public Map<String, Long> countByTipoTerrenoForLote(Long loteId) {
+        var result = new HashMap<String, Long>();
+        getEntityManager().createQuery("SELECT COALESCE(e.tipoTerreno, ''), COUNT(e) FROM Estimacion e " +
+                        "WHERE e.lote.id = ?1 GROUP BY e.tipoTerreno", Tuple.class)
+                .setParameter(1, loteId)
+                .getResultList()
+                .forEach(row -> result.merge(row.get(0, String.class), row.get(1, Long.class), Long::sum));
+        return result;
+    }
+
     public List<Estimacion> findWithViviendas() {
         return list("numViviendas > 0 ORDER BY numViviendas DESC");
     }
@@ -43,11 +58,18 @@ public class EstimacionRepository implements PanacheRepository<Estimacion> {
     }
 
     public Optional<Estimacion> findLatestByLoteId(Long loteId) {
-        return find("lote.id ORDER BY fechaCreacion DESC", loteId)
+        return find("lote.id = ?1 ORDER BY fechaCreacion DESC", loteId)
                 .firstResultOptional();
     }
 
     public void deleteByLoteId(Long loteId) {
         delete("lote.id", loteId);
     }
+
+    // Versión de la fila para GET condicionales, sin cargar la entidad ni sus hijos
+    public Optional<LocalDateTime> findFechaModificacion(Long id) {
+        return find("SELECT e.fechaModificacion FROM Estimacion e WHERE e.id = ?1", id)
+                .project(LocalDateTime.class)
+                .firstResultOptional();
+    }
 }
@@ -1,18 +1,117 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.FichaCatastral;
+import com.municipalidad.catastro.domain.ficha.FichaCatastral;
+import com.municipalidad.catastro.dto.FichaJson;
+import com.municipalidad.catastro.dto.FichaResumenDTO;
+import com.municipalidad.catastro.dto.PageCursor;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
 
 @ApplicationScoped
 public class FichaCatastralRepository implements PanacheRepository<FichaCatastral> {
 
+    // Máximo de ids por consulta IN al inicializar colecciones
+    private static final int FETCH_BATCH_SIZE = 1000;
+
+    private static final String RESUMEN_SELECT = "SELECT new com.municipalidad.catastro.dto.FichaResumenDTO(" +
+            "f.id, f.codigoLote, f.codigoSector, f.codigoManzana, f.codigoUnidad, f.codigoPiso, " +
+            "f.tipoPredio, f.usoPredio, f.areaTerreno, f.areaConstruccion, f.areaVerificada, " +
+            "f.fechaCreacion) FROM FichaCatastral f ";
+
+    // Ficha con titulares, construcciones y servicio armada como JSON por Postgres en una
+    // sola sentencia; las claves siguen a FichaCatastralDTO y sus hijos
+    private static final String FICHA_JSON_SELECT = "SELECT f.fecha_modificacion, json_build_object(" +
+            "'id', f.id, 'codigoLote', f.codigo_lote, 'codigoSector', f.codigo_sector, " +
+            "'codigoManzana', f.codigo_manzana, 'codigoUnidad', f.codigo_unidad, " +
+            "'codigoPiso', f.codigo_piso, 'codigoEdificacion', f.codigo_edificacion, " +
+            "'codigoEntrada', f.codigo_entrada, 'contadorFichas', f.contador_fichas, " +
+            "'tipoPredio', f.tipo_predio, 'clasificacionPredio', f.clasificacion_predio, " +
+            "'usoPredio', f.uso_predio, 'predioCatastradoEn', f.predio_catastrado_en, " +
+            "'departamento', f.departamento, 'provincia', f.provincia, 'distrito', f.distrito, " +
+            "'zonaSectorEtapa', f.zona_sector_etapa, 'manzana', f.manzana, 'lote', f.lote, " +
+            "'calleAvenida', f.calle_avenida, 'numeroMunicipal', f.numero_municipal, " +
+            "'tipoInterior', f.tipo_interior, 'numeroInterior', f.numero_interior, " +
+            "'tipoPuerta', f.tipo_puerta, 'numeroPuerta', f.numero_puerta, " +
+            "'kilometro', f.kilometro, 'referenciaUbicacion', f.referencia_ubicacion, " +
+            "'frenteMl', f.frente_ml, 'derechaMl', f.derecha_ml, 'izquierdaMl', f.izquierda_ml, " +
+            "'fondoMl', f.fondo_ml, 'areaTerreno', f.area_terreno, " +
+            "'areaConstruccion', f.area_construccion, 'areaVerificada', f.area_verificada, " +
+            "'linderoFrente', f.lindero_frente, 'linteroDerecha', f.lindero_derecha, " +
+            "'linderoIzquierda', f.lindero_izquierda, 'linderoFondo', f.lindero_fondo, " +
+            "'condicionNumeracion', f.condicion_numeracion, " +
+            "'condicionPredio', f.condicion_predio, 'fechaLevantamiento', f.fecha_levantamiento, " +
+            "'fechaInscripcionRegistral', f.fecha_inscripcion_registral, " +
+            "'observaciones', f.observaciones, " +
+            "'titulares', COALESCE((SELECT json_agg(json_build_object(" +
+                    "'id', t.id, 'fichaId', t.ficha_id, 'tipoTitular', t.tipo_titular, " +
+                    "'tipoDocumento', t.tipo_documento, 'numeroDocumento', t.numero_documento, " +
+                    "'apellidoPaterno', t.apellido_paterno, " +
+                    "'apellidoMaterno', t.apellido_materno, 'nombres', t.nombres, " +
+                    "'razonSocial', t.razon_social, 'estadoCivil', t.estado_civil, " +
+                    "'tipoPersonaJuridica', t.tipo_persona_juridica, " +
+                    "'domicilioDepartamento', t.domicilio_departamento, " +
+                    "'domicilioProvincia', t.domicilio_provincia, " +
+                    "'domicilioDistrito', t.domicilio_distrito, " +
+                    "'domicilioDireccion', t.domicilio_direccion, 'telefono', t.telefono, " +
+                    "'email', t.email, 'porcentajePropiedad', t.porcentaje_propiedad, " +
+                    "'condicionTitular', t.condicion_titular, " +
+                    "'formaAdquisicion', t.forma_adquisicion, " +
+                    "'fechaAdquisicion', t.fecha_adquisicion, " +
+                    "'tipoDocumentoLegal', t.tipo_documento_legal, " +
+                    "'numeroPartida', t.numero_partida, 'fojas', t.fojas, 'asiento', t.asiento, " +
+                    "'fechaInscripcion', t.fecha_inscripcion, " +
+                    "'oficinaRegistral', t.oficina_registral" +
+            ") ORDER BY t.id) FROM titular t WHERE t.ficha_id = f.id), '[]'::json), " +
+            "'construcciones', COALESCE((SELECT json_agg(json_build_object(" +
+                    "'id', c.id, 'fichaId', c.ficha_id, 'numeroPiso', c.numero_piso, " +
+                    "'nombrePiso', c.nombre_piso, 'fechaConstruccion', c.fecha_construccion, " +
+                    "'anioConstruccion', c.anio_construccion, " +
+                    "'materialEstructural', c.material_estructural, " +
+                    "'estadoConservacion', c.estado_conservacion, " +
+                    "'estadoConstruccion', c.estado_construccion, " +
+                    "'areaConstruida', c.area_construida, 'areaTechada', c.area_techada, " +
+                    "'areaComun', c.area_comun, 'muros', c.muros, 'techos', c.techos, " +
+                    "'pisos', c.pisos, 'puertasVentanas', c.puertas_ventanas, " +
+                    "'revestimiento', c.revestimiento, 'banios', c.banios, " +
+                    "'instalacionesSanitarias', c.instalaciones_sanitarias, " +
+                    "'instalacionesElectricas', c.instalaciones_electricas, " +
+                    "'categoriaMuro', c.categoria_muro, 'categoriaTecho', c.categoria_techo, " +
+                    "'categoriaPiso', c.categoria_piso, " +
+                    "'categoriaPuertaVentana', c.categoria_puerta_ventana, " +
+                    "'numeroHabitaciones', c.numero_habitaciones, " +
+                    "'numeroBanios', c.numero_banios, 'numeroCocinas', c.numero_cocinas, " +
+                    "'tieneGarage', c.tiene_garage, 'tieneTerraza', c.tiene_terraza, " +
+                    "'tieneBalcon', c.tiene_balcon" +
+            ") ORDER BY c.numero_piso) FROM construccion c WHERE c.ficha_id = f.id), '[]'::json), " +
+            "'servicios', (SELECT json_build_object(" +
+                    "'id', s.id, 'fichaId', s.ficha_id, 'tieneLuz', s.tiene_luz, " +
+                    "'tipoLuz', s.tipo_luz, 'tieneAgua', s.tiene_agua, 'tipoAgua', s.tipo_agua, " +
+                    "'tieneDesague', s.tiene_desague, 'tipoDesague', s.tipo_desague, " +
+                    "'tieneGas', s.tiene_gas, 'tipoGas', s.tipo_gas, " +
+                    "'tieneTelefono', s.tiene_telefono, 'tipoTelefono', s.tipo_telefono, " +
+                    "'tieneInternet', s.tiene_internet, 'tipoInternet', s.tipo_internet, " +
+                    "'tieneTvCable', s.tiene_tv_cable, 'operadorTv', s.operador_tv, " +
+                    "'viaPavimentada', s.via_pavimentada, 'viaAfirmada', s.via_afirmada, " +
+                    "'viaTrocha', s.via_trocha, " +
+                    "'tieneTransportePublico', s.tiene_transporte_publico, " +
+                    "'distanciaTransporteMetros', s.distancia_transporte_metros" +
+            ") FROM servicio s WHERE s.ficha_id = f.id))::text AS ficha " +
+            "FROM ficha_catastral f WHERE f.id = ?1";
+
     public List<FichaCatastral> findByCodigoLote(String codigoLote) {
-        return list("codigoLote ORDER BY fechaCreacion DESC", codigoLote);
+        return list("codigoLote = ?1 ORDER BY fechaCreacion DESC", codigoLote);
     }
 
     public Optional<FichaCatastral> findByCodigoCompleto(
@@ -22,8 +121,27 @@ public class FichaCatastralRepository implements PanacheRepository<FichaCatastra
                 .firstResultOptional();
     }
 
+    // Códigos completos (lote|unidad|piso) ya registrados para los lotes indicados
+    public List<String> findCodigosCompletos(Collection<String> codigosLote) {
+        return find("SELECT f.codigoLote || '|' || f.codigoUnidad || '|' || f.codigoPiso " +
+                        "FROM FichaCatastral f WHERE f.codigoLote IN ?1 " +
+                        "AND f.codigoUnidad IS NOT NULL AND f.codigoPiso IS NOT NULL", codigosLote)
+                .project(String.class)
+                .list();
+    }
+
     public List<FichaCatastral> findBySector(String codigoSector) {
-        return list("codigoSector ORDER BY codigoManzana, codigoLote", codigoSector);
+        return list("codigoSector = ?1 ORDER BY codigoManzana, codigoLote", codigoSector);
+    }
+
+    // Recorrido de solo avance para exportaciones; las entidades se cargan en modo solo lectura
+    public ScrollableResults<FichaCatastral> scrollBySector(String codigoSector) {
+        return getEntityManager().unwrap(Session.class)
+                .createSelectionQuery("FROM FichaCatastral WHERE codigoSector = :sector " +
+                        "ORDER BY codigoManzana, codigoLote", FichaCatastral.class)
+                .setParameter("sector", codigoSector)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
     }
 
     public List<FichaCatastral> findByManzana(String codigoSector, String codigoManzana) {
@@ -37,23 +155,23 @@ public class FichaCatastralRepository implements PanacheRepository<FichaCatastra
     }
 
     public List<FichaCatastral> findByTipoPredio(String tipoPredio) {
-        return list("tipoPredio ORDER BY fechaCreacion DESC", tipoPredio);
+        return list("tipoPredio = ?1 ORDER BY fechaCreacion DESC", tipoPredio);
     }
 
     public List<FichaCatastral> findByUsoPredio(String usoPredio) {
-        return list("usoPredio ORDER BY fechaCreacion DESC", usoPredio);
+        return list("usoPredio = ?1 ORDER BY fechaCreacion DESC", usoPredio);
     }
 
     public List<FichaCatastral> findByClasificacionPredio(String clasificacionPredio) {
-        return list("clasificacionPredio ORDER BY fechaCreacion DESC", clasificacionPredio);
+        return list("clasificacionPredio = ?1 ORDER BY fechaCreacion DESC", clasificacionPredio);
     }
 
     public List<FichaCatastral> findByDepartamento(String departamento) {
-        return list("departamento ORDER BY provincia, distrito", departamento);
+        return list("departamento = ?1 ORDER BY provincia, distrito", departamento);
     }
 
     public List<FichaCatastral> findByDistrito(String distrito) {
-        return list("distrito ORDER BY zonaSectorEtapa", distrito);
+        return list("distrito = ?1 ORDER BY zonaSectorEtapa", distrito);
     }
 
     public List<FichaCatastral> findByAreaTerrenoRange(BigDecimal minArea, BigDecimal maxArea) {
@@ -84,6 +202,44 @@ public class FichaCatastralRepository implements PanacheRepository<FichaCatastra
                 .list();
     }
 
+    // Paginación por clave: usa el índice (fecha_creacion, id) en lugar de OFFSET
+    public List<FichaCatastral> findAfter(PageCursor after, int limit) {
+        var query = after == null
+                ? find("ORDER BY fechaCreacion DESC, id DESC")
+                : find("(fechaCreacion, id) < (?1, ?2) ORDER BY fechaCreacion DESC, id DESC",
+                        after.fechaCreacion(), after.id());
+        return query.range(0, limit - 1).list();
+    }
+
+    // Proyecciones de resumen: no crean entidades administradas ni snapshots
+    public List<FichaResumenDTO> findResumen(int page, int size) {
+        return getEntityManager()
+                .createQuery(RESUMEN_SELECT + "ORDER BY f.fechaCreacion DESC", FichaResumenDTO.class)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    public List<FichaResumenDTO> findResumenAfter(PageCursor after, int limit) {
+        var query = after == null
+                ? getEntityManager().createQuery(RESUMEN_SELECT +
+                        "ORDER BY f.fechaCreacion DESC, f.id DESC", FichaResumenDTO.class)
+                : getEntityManager().createQuery(RESUMEN_SELECT +
+                        "WHERE (f.fechaCreacion, f.id) < (?1, ?2) " +
+                        "ORDER BY f.fechaCreacion DESC, f.id DESC", FichaResumenDTO.class)
+                        .setParameter(1, after.fechaCreacion())
+                        .setParameter(2, after.id());
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    public List<FichaResumenDTO> findResumenBySector(String codigoSector) {
+        return getEntityManager()
+                .createQuery(RESUMEN_SELECT + "WHERE f.codigoSector = ?1 " +
+                        "ORDER BY f.codigoManzana, f.codigoLote", FichaResumenDTO.class)
+                .setParameter(1, codigoSector)
+                .getResultList();
+    }
+
     public List<FichaCatastral> findWithTitulares() {
         return find("SELECT DISTINCT f FROM FichaCatastral f LEFT JOIN FETCH f.titulares")
                 .list();
@@ -100,10 +256,67 @@ public class FichaCatastralRepository implements PanacheRepository<FichaCatastra
     }
 
     public List<FichaCatastral> findComplete() {
-        return find("SELECT DISTINCT f FROM FichaCatastral f " +
-                "LEFT JOIN FETCH f.titulares " +
-                "LEFT JOIN FETCH f.construcciones " +
-                "LEFT JOIN FETCH f.servicios")
+        return findComplete(null, null, null, null);
+    }
+
+    // Carga el grafo completo en pasos: fichas con su servicio (uno a uno), luego titulares
+    // y construcciones en consultas separadas por id. Evita el producto cartesiano
+    // titulares x construcciones; todos los filtros son opcionales.
+    public List<FichaCatastral> findComplete(String codigoSector, String codigoManzana,
+                                             LocalDate desde, LocalDate hasta) {
+        var where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        var params = new HashMap<String, Object>();
+        if (codigoSector != null) {
+            where.add("f.codigoSector = :sector");
+            params.put("sector", codigoSector);
+        }
+        if (codigoManzana != null) {
+            where.add("f.codigoManzana = :manzana");
+            params.put("manzana", codigoManzana);
+        }
+        if (desde != null) {
+            where.add("f.fechaLevantamiento >= :desde");
+            params.put("desde", desde);
+        }
+        if (hasta != null) {
+            where.add("f.fechaLevantamiento <= :hasta");
+            params.put("hasta", hasta);
+        }
+
+        var fichas = find("SELECT f FROM FichaCatastral f LEFT JOIN FETCH f.servicios" + where +
+                " ORDER BY f.codigoSector, f.codigoManzana, f.codigoLote", params)
                 .list();
+
+        // Las colecciones se inicializan sobre las mismas entidades administradas
+        var ids = fichas.stream().map(f -> f.id).toList();
+        for (int from = 0; from < ids.size(); from += FETCH_BATCH_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + FETCH_BATCH_SIZE, ids.size()));
+            find("SELECT DISTINCT f FROM FichaCatastral f LEFT JOIN FETCH f.titulares " +
+                    "WHERE f.id IN ?1", chunk).list();
+            find("SELECT DISTINCT f FROM FichaCatastral f LEFT JOIN FETCH f.construcciones " +
+                    "WHERE f.id IN ?1", chunk).list();
+        }
+        return fichas;
+    }
+
+    // Versión y JSON completo de la ficha en un solo viaje a la base de datos
+    public Optional<FichaJson> findJson(Long id) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager().createNativeQuery(FICHA_JSON_SELECT)
+                .unwrap(NativeQuery.class)
+                .addScalar("fecha_modificacion", LocalDateTime.class)
+                .addScalar("ficha", String.class)
+                .setParameter(1, id)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new FichaJson((LocalDateTime) row[0], (String) row[1]));
+    }
+
+    // Versión de la fila para GET condicionales, sin cargar la entidad ni sus hijos
+    public Optional<LocalDateTime> findFechaModificacion(Long id) {
+        return find("SELECT f.fechaModificacion FROM FichaCatastral f WHERE f.id = ?1", id)
+                .project(LocalDateTime.class)
+                .firstResultOptional();
     }
 }
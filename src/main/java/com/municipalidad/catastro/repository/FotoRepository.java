@@ -1,6 +1,6 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.Foto;
+import com.municipalidad.catastro.domain.lote.Foto;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.List;
@@ -10,11 +10,11 @@ import java.util.Optional;
 public class FotoRepository implements PanacheRepository<Foto> {
 
     public List<Foto> findByLoteId(Long loteId) {
-        return list("lote.id ORDER BY fechaCreacion DESC", loteId);
+        return list("lote.id = ?1 ORDER BY fechaCreacion DESC", loteId);
     }
 
     public List<Foto> findByCodigoLote(String codigoLote) {
-        return list("codigoLote ORDER BY fechaCreacion DESC", codigoLote);
+        return list("codigoLote = ?1 ORDER BY fechaCreacion DESC", codigoLote);
     }
 
     public Optional<Foto> findByUrl(String url) {
@@ -22,15 +22,15 @@ public class FotoRepository implements PanacheRepository<Foto> {
     }
 
     public List<Foto> findByServicio(String servicio) {
-        return list("servicio ORDER BY fechaCreacion DESC", servicio);
+        return list("servicio = ?1 ORDER BY fechaCreacion DESC", servicio);
     }
 
     public List<Foto> findByTipoFoto(String tipoFoto) {
-        return list("tipoFoto ORDER BY fechaCreacion DESC", tipoFoto);
+        return list("tipoFoto = ?1 ORDER BY fechaCreacion DESC", tipoFoto);
     }
 
     public List<Foto> findByContentType(String contentType) {
-        return list("contentType ORDER BY fechaCreacion DESC", contentType);
+        return list("contentType = ?1 ORDER BY fechaCreacion DESC", contentType);
     }
 
     public long countByLoteId(Long loteId) {
@@ -1,12 +1,16 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.Lote;
+import com.municipalidad.catastro.domain.lote.Lote;
+import com.municipalidad.catastro.dto.PageCursor;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.query.NativeQuery;
 
 @ApplicationScoped
 public class LoteRepository implements PanacheRepository<Lote> {
@@ -15,6 +19,17 @@ public class LoteRepository implements PanacheRepository<Lote> {
         return find("codigoLote", codigoLote).firstResultOptional();
     }
 
+    public Optional<Long> findIdByCodigoLote(String codigoLote) {
+        return find("SELECT l.id FROM Lote l WHERE l.codigoLote = ?1", codigoLote)
+                .project(Long.class)
+                .firstResultOptional();
+    }
+
+    // Referencia sin cargar la fila, para asociar hijos a un lote conocido
+    public Lote getReference(Long id) {
+        return getEntityManager().getReference(Lote.class, id);
+    }
+
     public List<Lote> findBySector(String codigoSector) {
         return list("codigoSector = ?1 ORDER BY codigoManzana, codigoLote", codigoSector);
     }
@@ -24,6 +39,89 @@ public class LoteRepository implements PanacheRepository<Lote> {
                 codigoSector, codigoManzana);
     }
 
+    // Filtro por rectángulo sobre el índice GiST idx_lote_punto (R-tree de puntos de Postgres), que
+    // acota latitud y longitud a la vez. La expresión tiene que coincidir con la del índice
+    private static final String EN_RECTANGULO = "point(CAST(l.longitud AS float8), CAST(l.latitud AS float8)) " +
+            "<@ box(point(:minLon, :minLat), point(:maxLon, :maxLat))";
+
+    // Lotes del rectángulo en orden de id, para que un recorte por límite sea estable
+    public List<Lote> findInBoundingBox(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        var query = getSession().createNativeQuery("SELECT l.* FROM lote l WHERE " + EN_RECTANGULO +
+                " ORDER BY l.id LIMIT :limit", Lote.class);
+        rectangulo(query, minLat, minLon, maxLat, maxLon);
+        return query.setParameter("limit", limit).getResultList();
+    }
+
+    // Los lotes del rectángulo más cercanos al centro: el orden por distancia (equirectangular, exacta
+    // a escala urbana) se aplica en SQL antes del límite, así el recorte descarta los más lejanos
+    public List<Lote> findNearest(double latitud, double longitud, double dLat, double dLon, int limit) {
+        var query = getSession().createNativeQuery("SELECT l.* FROM lote l WHERE " + EN_RECTANGULO +
+                " ORDER BY power(CAST(l.latitud AS float8) - :lat, 2) " +
+                "+ power((CAST(l.longitud AS float8) - :lon) * :cosLat, 2), l.id LIMIT :limit", Lote.class);
+        rectangulo(query, latitud - dLat, longitud - dLon, latitud + dLat, longitud + dLon);
+        return query
+                .setParameter("lat", latitud)
+                .setParameter("lon", longitud)
+                .setParameter("cosLat", Math.cos(Math.toRadians(latitud)))
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    // Filas (id, codigoLote, latitud, longitud) sin cargar entidades
+    public List<Object[]> findPuntosInBoundingBox(double minLat, double minLon,
+                                                  double maxLat, double maxLon, int limit) {
+        var query = getSession().createNativeQuery("SELECT l.id, l.codigo_lote, l.latitud, l.longitud " +
+                "FROM lote l WHERE " + EN_RECTANGULO + " LIMIT :limit", Object[].class);
+        rectangulo(query, minLat, minLon, maxLat, maxLon);
+        return query.setParameter("limit", limit).getResultList();
+    }
+
+    // Filas (cantidad, latitud promedio, longitud promedio) por celda de la grilla
+    public List<Object[]> clusterInBoundingBox(double minLat, double minLon, double maxLat, double maxLon,
+                                               double celdaLat, double celdaLon) {
+        var query = getSession().createNativeQuery("SELECT COUNT(*), AVG(l.latitud), AVG(l.longitud) " +
+                "FROM lote l WHERE " + EN_RECTANGULO + " " +
+                "GROUP BY FLOOR((CAST(l.latitud AS float8) - :minLat) / :celdaLat), " +
+                "FLOOR((CAST(l.longitud AS float8) - :minLon) / :celdaLon)", Object[].class);
+        rectangulo(query, minLat, minLon, maxLat, maxLon);
+        return query
+                .setParameter("celdaLat", celdaLat)
+                .setParameter("celdaLon", celdaLon)
+                .getResultList();
+    }
+
+    private static void rectangulo(NativeQuery<?> query, double minLat, double minLon, double maxLat, double maxLon) {
+        query.setParameter("minLat", minLat)
+                .setParameter("minLon", minLon)
+                .setParameter("maxLat", maxLat)
+                .setParameter("maxLon", maxLon);
+    }
+
+    // [minLat, maxLat, minLon, maxLon] de los lotes georreferenciados del sector
+    public Object[] findBoundsBySector(String codigoSector) {
+        return getEntityManager().createQuery("SELECT MIN(l.latitud), MAX(l.latitud), " +
+                        "MIN(l.longitud), MAX(l.longitud) FROM Lote l WHERE l.codigoSector = ?1 " +
+                        "and l.latitud is not null and l.longitud is not null", Object[].class)
+                .setParameter(1, codigoSector)
+                .getSingleResult();
+    }
+
+    // Filas (latitud, longitud, viviendas de la última estimación, área construida de sus fichas)
+    public Stream<Object[]> streamDensidadBySector(String codigoSector) {
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = getEntityManager().createNativeQuery(
+                        "SELECT l.latitud, l.longitud, COALESCE(e.num_viviendas, 0), COALESCE(f.area, 0) " +
+                        "FROM lote l " +
+                        "LEFT JOIN LATERAL (SELECT num_viviendas FROM estimacion " +
+                        "WHERE lote_id = l.id ORDER BY fecha_creacion DESC LIMIT 1) e ON true " +
+                        "LEFT JOIN LATERAL (SELECT SUM(area_construccion) AS area FROM ficha_catastral " +
+                        "WHERE codigo_lote = l.codigo_lote::char(8)) f ON true " +
+                        "WHERE l.codigo_sector = ?1 AND l.latitud IS NOT NULL AND l.longitud IS NOT NULL")
+                .setParameter(1, codigoSector)
+                .getResultStream();
+        return rows;
+    }
+
     public boolean existsByCodigoLote(String codigoLote) {
         return count("codigoLote", codigoLote) > 0;
     }
@@ -34,6 +132,15 @@ public class LoteRepository implements PanacheRepository<Lote> {
                 .list();
     }
 
+    // Paginación por clave: usa el índice (fecha_creacion, id) en lugar de OFFSET
+    public List<Lote> findAfter(PageCursor after, int limit) {
+        var query = after == null
+                ? find("ORDER BY fechaCreacion DESC, id DESC")
+                : find("(fechaCreacion, id) < (?1, ?2) ORDER BY fechaCreacion DESC, id DESC",
+                        after.fechaCreacion(), after.id());
+        return query.range(0, limit - 1).list();
+    }
+
     public long countAll() {
         return count();
     }
@@ -56,4 +163,11 @@ public class LoteRepository implements PanacheRepository<Lote> {
         return find("SELECT DISTINCT l FROM Lote l LEFT JOIN FETCH l.fotos")
                 .list();
     }
+
+    // Versión de la fila para GET condicionales, sin cargar la entidad ni sus hijos
+    public Optional<LocalDateTime> findFechaModificacion(Long id) {
+        return find("SELECT l.fechaModificacion FROM Lote l WHERE l.id = ?1", id)
+                .project(LocalDateTime.class)
+                .firstResultOptional();
+    }
 }
@@ -1,8 +1,9 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.Servicio;
+import com.municipalidad.catastro.domain.ficha.Servicio;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,10 @@ public class ServicioRepository implements PanacheRepository<Servicio> {
         return find("ficha.id", fichaId).firstResultOptional();
     }
 
+    public List<Servicio> findByFichaIds(Collection<Long> fichaIds) {
+        return list("ficha.id in ?1", fichaIds);
+    }
+
     public void deleteByFichaId(Long fichaId) {
         delete("ficha.id", fichaId);
     }
@@ -34,11 +39,11 @@ public class ServicioRepository implements PanacheRepository<Servicio> {
     }
 
     public List<Servicio> findByTipoLuz(String tipoLuz) {
-        return list("tipoLuz ORDER BY fechaCreacion DESC", tipoLuz);
+        return list("tipoLuz = ?1 ORDER BY fechaCreacion DESC", tipoLuz);
     }
 
     public List<Servicio> findByTipoAgua(String tipoAgua) {
-        return list("tipoAgua ORDER BY fechaCreacion DESC", tipoAgua);
+        return list("tipoAgua = ?1 ORDER BY fechaCreacion DESC", tipoAgua);
     }
 
     public long countWithAllBasicServices() {
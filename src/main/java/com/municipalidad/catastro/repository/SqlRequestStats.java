@@ -0,0 +1,64 @@
+package com.municipalidad.catastro.repository;
+
+import io.quarkus.arc.Arc;
+import jakarta.enterprise.context.RequestScoped;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+// Contadores SQL del request en curso: sentencias, tiempo JDBC, entidades cargadas y repeticiones
+// por forma de consulta. Los llenan SqlStatementCounter y SqlTimingListener; los lee SqlStatsFilter
+@RequestScoped
+public class SqlRequestStats {
+
+    @ConfigProperty(name = "catastro.sql.stats.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private int sentencias;
+    private long jdbcNanos;
+    private int entidades;
+    private final Map<String, Integer> formas = new HashMap<>();
+
+    // null fuera de un request (priming, jobs) o con los contadores desactivados
+    static SqlRequestStats actual() {
+        var container = Arc.container();
+        if (container == null || !container.requestContext().isActive()) {
+            return null;
+        }
+        var stats = container.instance(SqlRequestStats.class).get();
+        return stats.enabled() ? stats : null;
+    }
+
+    void sentencia(String forma) {
+        sentencias++;
+        formas.merge(forma, 1, Integer::sum);
+    }
+
+    void jdbc(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    void entidadCargada() {
+        entidades++;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public int sentencias() {
+        return sentencias;
+    }
+
+    public double jdbcMs() {
+        return jdbcNanos / 1_000_000.0;
+    }
+
+    public int entidades() {
+        return entidades;
+    }
+
+    public Map<String, Integer> formas() {
+        return formas;
+    }
+}
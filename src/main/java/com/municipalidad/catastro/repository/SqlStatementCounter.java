@@ -0,0 +1,45 @@
+package com.municipalidad.catastro.repository;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.regex.Pattern;
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+// Cuenta cada sentencia que Hibernate prepara y cada entidad que hidrata, agrupando las sentencias
+// por forma (literales e IN-lists normalizados) para detectar N+1
+@PersistenceUnitExtension
+@ApplicationScoped
+public class SqlStatementCounter implements StatementInspector, Interceptor {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    @Override
+    public String inspect(String sql) {
+        var stats = SqlRequestStats.actual();
+        if (stats != null) {
+            stats.sentencia(forma(sql));
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        var stats = SqlRequestStats.actual();
+        if (stats != null) {
+            stats.entidadCargada();
+        }
+        return false;
+    }
+
+    static String forma(String sql) {
+        var forma = LITERAL.matcher(sql).replaceAll("?");
+        forma = LISTA_IN.matcher(forma).replaceAll("(?)");
+        return ESPACIOS.matcher(forma).replaceAll(" ").trim();
+    }
+}
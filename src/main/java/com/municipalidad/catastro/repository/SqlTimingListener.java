@@ -0,0 +1,43 @@
+package com.municipalidad.catastro.repository;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.hibernate.SessionEventListener;
+
+// Tiempo de ejecución JDBC (sentencias y batches) de cada sesión, acumulado en el request que la abrió.
+// Hibernate crea una instancia por sesión (hibernate.session.events.auto en application.properties)
+@RegisterForReflection
+public class SqlTimingListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    // La sesión no se serializa en Lambda: el listener vive y muere con ella dentro del request
+    @SuppressWarnings("serial")
+    private final SqlRequestStats stats = SqlRequestStats.actual();
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        acumular();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        acumular();
+    }
+
+    private void acumular() {
+        if (stats != null) {
+            stats.jdbc(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.municipalidad.catastro.repository;
 
-import com.municipalidad.catastro.domain.Titular;
+import com.municipalidad.catastro.domain.ficha.Titular;
+import com.municipalidad.catastro.dto.TitularBusquedaDTO;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,7 +12,11 @@ import java.util.Optional;
 public class TitularRepository implements PanacheRepository<Titular> {
 
     public List<Titular> findByFichaId(Long fichaId) {
-        return list("ficha.id ORDER BY id", fichaId);
+        return list("ficha.id = ?1 ORDER BY id", fichaId);
+    }
+
+    public List<Titular> findByFichaIds(Collection<Long> fichaIds) {
+        return list("ficha.id in ?1 ORDER BY ficha.id, id", fichaIds);
     }
 
     public Optional<Titular> findByNumeroDocumento(String numeroDocumento) {
@@ -18,23 +24,23 @@ public class TitularRepository implements PanacheRepository<Titular> {
     }
 
     public List<Titular> findByTipoTitular(String tipoTitular) {
-        return list("tipoTitular ORDER BY fechaCreacion DESC", tipoTitular);
+        return list("tipoTitular = ?1 ORDER BY fechaCreacion DESC", tipoTitular);
     }
 
     public List<Titular> findByTipoDocumento(String tipoDocumento) {
-        return list("tipoDocumento ORDER BY fechaCreacion DESC", tipoDocumento);
+        return list("tipoDocumento = ?1 ORDER BY fechaCreacion DESC", tipoDocumento);
     }
 
     public List<Titular> findByEstadoCivil(String estadoCivil) {
-        return list("estadoCivil ORDER BY fechaCreacion DESC", estadoCivil);
+        return list("estadoCivil = ?1 ORDER BY fechaCreacion DESC", estadoCivil);
     }
 
     public List<Titular> findByCondicionTitular(String condicionTitular) {
-        return list("condicionTitular ORDER BY fechaCreacion DESC", condicionTitular);
+        return list("condicionTitular = ?1 ORDER BY fechaCreacion DESC", condicionTitular);
     }
 
     public List<Titular> findByFormaAdquisicion(String formaAdquisicion) {
-        return list("formaAdquisicion ORDER BY fechaCreacion DESC", formaAdquisicion);
+        return list("formaAdquisicion = ?1 ORDER BY fechaCreacion DESC", formaAdquisicion);
     }
 
     public List<Titular> findByApellidoPaterno(String apellidoPaterno) {
@@ -47,6 +53,36 @@ public class TitularRepository implements PanacheRepository<Titular> {
                 "%" + razonSocial + "%");
     }
 
+    // Búsqueda por subcadena sin tildes ni mayúsculas, ordenada por similitud. Usa el índice
+    // trigram idx_titular_nombre_trgm sobre titular_nombre_busqueda(...) (ver db.schema.sql).
+    // El término va tal cual a similarity(); el patrón es el mismo término con los comodines escapados
+    public List<TitularBusquedaDTO> buscarPorNombre(String termino, String patron, int page, int size) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager().createNativeQuery(
+                        "SELECT t.id, t.ficha_id, f.codigo_lote, t.tipo_titular, t.tipo_documento, " +
+                        "t.numero_documento, t.apellido_paterno, t.apellido_materno, t.nombres, t.razon_social, " +
+                        "similarity(titular_nombre_busqueda(t.apellido_paterno, t.apellido_materno, " +
+                        "t.nombres, t.razon_social), normalizar_busqueda(?1)) AS score " +
+                        "FROM titular t LEFT JOIN ficha_catastral f ON f.id = t.ficha_id " +
+                        "WHERE titular_nombre_busqueda(t.apellido_paterno, t.apellido_materno, " +
+                        "t.nombres, t.razon_social) LIKE '%' || normalizar_busqueda(?2) || '%' " +
+                        "ORDER BY score DESC, t.id")
+                .setParameter(1, termino)
+                .setParameter(2, patron)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+
+        return rows.stream()
+                .map(r -> new TitularBusquedaDTO(
+                        ((Number) r[0]).longValue(),
+                        r[1] != null ? ((Number) r[1]).longValue() : null,
+                        (String) r[2], (String) r[3], (String) r[4], (String) r[5],
+                        (String) r[6], (String) r[7], (String) r[8], (String) r[9],
+                        ((Number) r[10]).doubleValue()))
+                .toList();
+    }
+
     public long countByFichaId(Long fichaId) {
         return count("ficha.id", fichaId);
     }
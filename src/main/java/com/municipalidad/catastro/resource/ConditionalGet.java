@@ -0,0 +1,103 @@
+package com.municipalidad.catastro.resource;
+
+import com.municipalidad.catastro.dto.ApiResponse;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// GET condicional con ETag y Last-Modified derivados de fechaModificacion
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDAR = revalidar();
+
+    private ConditionalGet() {
+    }
+
+    // Cache-Control: no-cache (el constructor deja no-transform activo por defecto)
+    private static CacheControl revalidar() {
+        var cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+
+    // Si el cliente ya tiene la versión vigente responde 304 sin cargar la entidad ni sus hijos
+    static Response get(Request request, Long id, Optional<LocalDateTime> version,
+                        Supplier<? extends ApiResponse<?>> loader) {
+        if (version.isPresent()) {
+            var notModified = notModified(request, id, version.get());
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+
+        var response = loader.get();
+        if (!response.success()) {
+            return Response.status(Response.Status.NOT_FOUND).entity(response).build();
+        }
+        var builder = Response.ok(response);
+        version.ifPresent(v -> validators(builder, id, v));
+        return builder.build();
+    }
+
+    // Para lecturas que ya traen su versión: la consulta previa de versión solo se hace
+    // cuando el cliente envía validadores, así una lectura normal sigue siendo un solo viaje
+    static <T> Response get(Request request, HttpHeaders headers, Long id,
+                            Supplier<Optional<LocalDateTime>> version,
+                            Supplier<ApiResponse<T>> loader, Function<T, LocalDateTime> versionOf) {
+        if (headers.getHeaderString(HttpHeaders.IF_NONE_MATCH) != null
+                || headers.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            var notModified = version.get()
+                    .map(v -> notModified(request, id, v))
+                    .orElse(null);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+
+        var response = loader.get();
+        if (!response.success()) {
+            return Response.status(Response.Status.NOT_FOUND).entity(response).build();
+        }
+        var builder = Response.ok(response);
+        // Filas sin fecha_modificacion no tienen versión: se responden sin validadores
+        var v = versionOf.apply(response.data());
+        if (v != null) {
+            validators(builder, id, v);
+        }
+        return builder.build();
+    }
+
+    private static Response notModified(Request request, Long id, LocalDateTime version) {
+        var builder = request.evaluatePreconditions(lastModified(version), etag(id, version));
+        return builder != null ? validators(builder, id, version).build() : null;
+    }
+
+    private static Response.ResponseBuilder validators(Response.ResponseBuilder builder, Long id,
+                                                       LocalDateTime version) {
+        return builder.tag(etag(id, version))
+                .lastModified(lastModified(version))
+                .cacheControl(REVALIDAR);
+    }
+
+    // ETag fuerte: id y fechaModificacion en microsegundos, la precisión de timestamp en Postgres
+    private static EntityTag etag(Long id, LocalDateTime version) {
+        var instant = version.atZone(ZoneId.systemDefault()).toInstant();
+        var micros = instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+        return new EntityTag(id + "-" + Long.toHexString(micros));
+    }
+
+    // Last-Modified viaja con precisión de segundos
+    private static Date lastModified(LocalDateTime version) {
+        return Date.from(version.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,49 @@
+package com.municipalidad.catastro.resource;
+
+import com.municipalidad.catastro.dto.ApiResponse;
+import com.municipalidad.catastro.service.EstadisticaService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@IfBuildProperty(name = "catastro.function", stringValue = "estadistica", enableIfMissing = true)
+@Path("/api/estadisticas")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class EstadisticaResource {
+
+    @Inject
+    EstadisticaService estadisticaService;
+
+    // GET /api/estadisticas?sector=&manzana=
+    @GET
+    public Response resumen(
+            @QueryParam("sector") String codigoSector,
+            @QueryParam("manzana") String codigoManzana) {
+        var response = estadisticaService.resumen(codigoSector, codigoManzana);
+        return Response.ok(response).build();
+    }
+
+    // GET /api/estadisticas/manzanas?sector=
+    @GET
+    @Path("/manzanas")
+    public Response porManzana(@QueryParam("sector") String codigoSector) {
+        if (codigoSector == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("El código del sector es requerido"))
+                    .build();
+        }
+        var response = estadisticaService.porManzana(codigoSector);
+        return Response.ok(response).build();
+    }
+
+    // POST /api/estadisticas/recalcular
+    @POST
+    @Path("/recalcular")
+    public Response recalcular() {
+        var response = estadisticaService.recalcular();
+        return Response.ok(response).build();
+    }
+}
@@ -3,12 +3,16 @@ package com.municipalidad.catastro.resource;
 import com.municipalidad.catastro.dto.ApiResponse;
 import com.municipalidad.catastro.dto.EstimacionDTO;
 import com.municipalidad.catastro.service.EstimacionService;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
+@IfBuildProperty(name = "catastro.function", stringValue = "estimacion", enableIfMissing = true)
 @Path("/api/estimaciones")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -29,11 +33,8 @@ public class EstimacionResource {
     // GET /api/estimaciones/{id}
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") Long id) {
-        var response = estimacionService.findById(id);
-        return response.success()
-                ? Response.ok(response).build()
-                : Response.status(Response.Status.NOT_FOUND).entity(response).build();
+    public Response findById(@PathParam("id") Long id, @Context Request request) {
+        return ConditionalGet.get(request, id, estimacionService.findVersion(id), () -> estimacionService.findById(id));
     }
 
     // PUT /api/estimaciones/{id}
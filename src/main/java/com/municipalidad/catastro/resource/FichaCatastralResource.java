@@ -2,13 +2,21 @@ package com.municipalidad.catastro.resource;
 
 import com.municipalidad.catastro.dto.ApiResponse;
 import com.municipalidad.catastro.dto.FichaCatastralDTO;
+import com.municipalidad.catastro.dto.FichaJson;
 import com.municipalidad.catastro.service.FichaCatastralService;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.InputStream;
 
+@IfBuildProperty(name = "catastro.function", stringValue = "ficha", enableIfMissing = true)
 @Path("/api/fichas")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -26,14 +34,24 @@ public class FichaCatastralResource {
                 : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
     }
 
+    // POST /api/fichas/bulk (arreglo JSON o NDJSON)
+    @POST
+    @Path("/bulk")
+    @Consumes({MediaType.APPLICATION_JSON, "application/x-ndjson"})
+    public Response bulkCreate(InputStream body) {
+        var response = fichaService.bulkCreate(body);
+        return response.success()
+                ? Response.ok(response).build()
+                : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+    }
+
     // GET /api/fichas/{id}
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") Long id) {
-        var response = fichaService.findById(id);
-        return response.success()
-                ? Response.ok(response).build()
-                : Response.status(Response.Status.NOT_FOUND).entity(response).build();
+    public Response findById(@PathParam("id") Long id, @Context Request request, @Context HttpHeaders headers) {
+        // La ficha con sus hijos sale de una sola consulta JSON en Postgres
+        return ConditionalGet.get(request, headers, id, () -> fichaService.findVersion(id),
+                () -> fichaService.findById(id), FichaJson::fechaModificacion);
     }
 
     // PUT /api/fichas/{id}
@@ -56,6 +74,85 @@ public class FichaCatastralResource {
                 : Response.status(Response.Status.NOT_FOUND).entity(response).build();
     }
 
+    // GET /api/fichas
+    @GET
+    public Response findAll(
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("sector") String codigoSector,
+            @QueryParam("view") String view) {
+
+        // Vista de resumen (proyección sin hijos)
+        if ("summary".equals(view)) {
+            return findResumen(page, size, cursor, codigoSector);
+        }
+
+        // Si se especifica sector
+        if (codigoSector != null) {
+            var response = fichaService.findBySector(codigoSector);
+            return Response.ok(response).build();
+        }
+
+        // Paginación por cursor (cursor vacío = primera página)
+        if (cursor != null) {
+            var response = fichaService.findAfter(cursor, size);
+            return response.success()
+                    ? Response.ok(response).build()
+                    : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+        }
+
+        // Lista general con paginación
+        var response = fichaService.findAll(page, size);
+        return Response.ok(response).build();
+    }
+
+    private Response findResumen(int page, int size, String cursor, String codigoSector) {
+        if (codigoSector != null) {
+            var response = fichaService.findResumenBySector(codigoSector);
+            return Response.ok(response).build();
+        }
+
+        if (cursor != null) {
+            var response = fichaService.findResumenAfter(cursor, size);
+            return response.success()
+                    ? Response.ok(response).build()
+                    : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+        }
+
+        var response = fichaService.findResumen(page, size);
+        return Response.ok(response).build();
+    }
+
+    // GET /api/fichas/titulares?q=
+    @GET
+    @Path("/titulares")
+    public Response buscarTitulares(
+            @QueryParam("q") String termino,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size) {
+        var response = fichaService.buscarTitulares(termino, page, size);
+        return response.success()
+                ? Response.ok(response).build()
+                : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+    }
+
+    // GET /api/fichas/export?sector=
+    @GET
+    @Path("/export")
+    @Produces("application/x-ndjson")
+    public Response exportBySector(@QueryParam("sector") String codigoSector) {
+        if (codigoSector == null || codigoSector.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ApiResponse.error("El código del sector es requerido"))
+                    .build();
+        }
+
+        StreamingOutput stream = out -> fichaService.exportBySector(codigoSector, out);
+        return Response.ok(stream).build();
+    }
+
     // GET /api/fichas/lote/{codigoLote}
     @GET
     @Path("/lote/{codigoLote}")
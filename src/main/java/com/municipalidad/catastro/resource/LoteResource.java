@@ -2,13 +2,19 @@ package com.municipalidad.catastro.resource;
 
 import com.municipalidad.catastro.dto.ApiResponse;
 import com.municipalidad.catastro.dto.LoteDTO;
+import com.municipalidad.catastro.service.DensidadService;
 import com.municipalidad.catastro.service.LoteService;
+import com.municipalidad.catastro.service.LoteTileService;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
+@IfBuildProperty(name = "catastro.function", stringValue = "lote", enableIfMissing = true)
 @Path("/api/lotes")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -17,6 +23,12 @@ public class LoteResource {
     @Inject
     LoteService loteService;
 
+    @Inject
+    LoteTileService loteTileService;
+
+    @Inject
+    DensidadService densidadService;
+
     // POST /api/lotes
     @POST
     public Response create(@Valid LoteDTO dto) {
@@ -26,14 +38,85 @@ public class LoteResource {
                 : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
     }
 
-    // GET /api/lotes/{id}
+    // GET /api/lotes/near?lat=&lon=&radio=
     @GET
-    @Path("/{id}")
-    public Response findById(@PathParam("id") Long id) {
-        var response = loteService.findById(id);
+    @Path("/near")
+    public Response findNear(
+            @QueryParam("lat") Double latitud,
+            @QueryParam("lon") Double longitud,
+            @QueryParam("radio") @DefaultValue("50") double radioMetros) {
+        if (latitud == null || longitud == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("Los parámetros lat y lon son requeridos"))
+                    .build();
+        }
+
+        var response = loteService.findNear(latitud, longitud, radioMetros);
         return response.success()
                 ? Response.ok(response).build()
-                : Response.status(Response.Status.NOT_FOUND).entity(response).build();
+                : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+    }
+
+    // GET /api/lotes/bbox?minLat=&minLon=&maxLat=&maxLon=
+    @GET
+    @Path("/bbox")
+    public Response findInBoundingBox(
+            @QueryParam("minLat") Double minLat,
+            @QueryParam("minLon") Double minLon,
+            @QueryParam("maxLat") Double maxLat,
+            @QueryParam("maxLon") Double maxLon) {
+        if (minLat == null || minLon == null || maxLat == null || maxLon == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("Los parámetros minLat, minLon, maxLat y maxLon son requeridos"))
+                    .build();
+        }
+
+        var response = loteService.findInBoundingBox(minLat, minLon, maxLat, maxLon);
+        return response.success()
+                ? Response.ok(response).build()
+                : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+    }
+
+    // GET /api/lotes/tiles/{z}/{x}/{y}
+    @GET
+    @Path("/tiles/{z}/{x}/{y}")
+    @Produces("application/vnd.mapbox-vector-tile")
+    public Response tile(@PathParam("z") int z, @PathParam("x") int x, @PathParam("y") int y) {
+        if (z < 0 || z > LoteTileService.MAX_ZOOM || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ApiResponse.error("Coordenadas de tile inválidas: " + z + "/" + x + "/" + y))
+                    .build();
+        }
+
+        return Response.ok(loteTileService.tile(z, x, y))
+                .header("Cache-Control", "public, max-age=300")
+                .build();
+    }
+
+    // GET /api/lotes/densidad?sector=&celda=
+    @GET
+    @Path("/densidad")
+    public Response densidad(
+            @QueryParam("sector") String codigoSector,
+            @QueryParam("celda") @DefaultValue("100") double tamanoCeldaMetros) {
+        if (codigoSector == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("El código del sector es requerido"))
+                    .build();
+        }
+
+        var response = densidadService.densidad(codigoSector, tamanoCeldaMetros);
+        return response.success()
+                ? Response.ok(response).build()
+                : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+    }
+
+    // GET /api/lotes/{id}
+    @GET
+    @Path("/{id}")
+    public Response findById(@PathParam("id") Long id, @Context Request request) {
+        return ConditionalGet.get(request, id, loteService.findVersion(id), () -> loteService.findById(id));
     }
 
     // PUT /api/lotes/{id}
@@ -61,6 +144,7 @@ public class LoteResource {
     public Response findAll(
             @QueryParam("page") @DefaultValue("0") int page,
             @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("cursor") String cursor,
             @QueryParam("sector") String codigoSector,
             @QueryParam("manzana") String codigoManzana) {
 
@@ -76,6 +160,14 @@ public class LoteResource {
             return Response.ok(response).build();
         }
 
+        // Paginación por cursor (cursor vacío = primera página)
+        if (cursor != null) {
+            var response = loteService.findAfter(cursor, size);
+            return response.success()
+                    ? Response.ok(response).build()
+                    : Response.status(Response.Status.BAD_REQUEST).entity(response).build();
+        }
+
         // Lista general con paginación
         var response = loteService.findAll(page, size);
         return Response.ok(response).build();
@@ -0,0 +1,267 @@
+package com.municipalidad.catastro.resource;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.municipalidad.catastro.dto.*;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.amazon.lambda.http.LambdaHttpHandler;
+import io.quarkus.cache.CacheManager;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+// Priming para SnapStart: antes del snapshot recorre las lecturas por el handler HTTP de Lambda
+// y las escrituras dentro de una transacción que se revierte, para que el primer request tras
+// restaurar encuentre Hibernate, Jackson, el validador y el JIT ya calientes
+@ApplicationScoped
+public class SnapStartPriming implements Resource {
+
+    private static final Logger LOG = Logger.getLogger(SnapStartPriming.class);
+
+    private static final String PAYLOADS = "snapstart/priming.json";
+
+    // Rutas GET de serverless.yml con parámetros de ejemplo; no importa si no hay datos.
+    // En los artefactos por función solo se recorren las del resource incluido
+    private static final List<String> LECTURAS = List.of(
+            "/api/lotes?size=20",
+            "/api/lotes?cursor=&size=20",
+            "/api/lotes?sector=00",
+            "/api/lotes?sector=00&manzana=000",
+            "/api/lotes/1",
+            "/api/lotes/near?lat=-12.0464&lon=-77.0428&radio=50",
+            "/api/lotes/bbox?minLat=-12.05&minLon=-77.05&maxLat=-12.04&maxLon=-77.04",
+            "/api/lotes/tiles/15/9371/17489",
+            "/api/lotes/densidad?sector=00",
+            "/api/estimaciones/1",
+            "/api/estimaciones/lote/1",
+            "/api/fichas?size=20",
+            "/api/fichas?cursor=&size=20",
+            "/api/fichas?view=summary&size=20",
+            "/api/fichas?sector=00",
+            "/api/fichas/1",
+            "/api/fichas/titulares?q=priming",
+            "/api/fichas/lote/00000000",
+            "/api/fichas/export?sector=00",
+            "/api/estadisticas",
+            "/api/estadisticas?sector=00&manzana=000",
+            "/api/estadisticas/manzanas?sector=00"
+    );
+
+    @ConfigProperty(name = "catastro.snapstart.priming.enabled", defaultValue = "true")
+    boolean enabled;
+
+    // Repeticiones del recorrido completo para que el JIT compile los caminos calientes
+    @ConfigProperty(name = "catastro.snapstart.priming.iterations", defaultValue = "3")
+    int iterations;
+
+    @Inject
+    Instance<LoteResource> loteResource;
+
+    @Inject
+    Instance<EstimacionResource> estimacionResource;
+
+    @Inject
+    Instance<FichaCatastralResource> fichaResource;
+
+    @Inject
+    Instance<EstadisticaResource> estadisticaResource;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    CacheManager cacheManager;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    void onStart(@Observes StartupEvent event) {
+        // El contexto global guarda referencias débiles; el bean de aplicación mantiene la fuerte
+        if (enabled) {
+            Core.getGlobalContext().register(this);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        long inicio = System.nanoTime();
+        var handler = new LambdaHttpHandler();
+        var payloads = payloads();
+        var lecturas = LECTURAS.stream().filter(this::incluida).toList();
+        for (int i = 0; i < iterations; i++) {
+            lecturas.forEach(uri -> leer(handler, uri, Map.of()));
+            if (fichaResource.isResolvable()) {
+                // Camino del 304: la versión se consulta antes de cargar la ficha
+                leer(handler, "/api/fichas/1", Map.of("If-None-Match", "\"1-0\""));
+            }
+            escribir(payloads);
+        }
+
+        // Nada de lo cacheado durante el priming debe llegar al snapshot
+        for (var nombre : cacheManager.getCacheNames()) {
+            cacheManager.getCache(nombre).ifPresent(cache -> cache.invalidateAll().await().indefinitely());
+        }
+        // Las conexiones abiertas no sobreviven al snapshot: cerrarlas antes
+        dataSource.flush(AgroalDataSource.FlushMode.ALL);
+        LOG.infof("Priming SnapStart completado en %d ms (%d iteraciones)",
+                (System.nanoTime() - inicio) / 1_000_000, iterations);
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // Reabrir una conexión durante la restauración para que el primer request no pague el handshake
+        try (var connection = dataSource.getConnection()) {
+            connection.isValid(2);
+        } catch (SQLException e) {
+            LOG.warn("No se pudo abrir la conexión a la base de datos tras restaurar", e);
+        }
+    }
+
+    private boolean incluida(String uri) {
+        if (uri.startsWith("/api/lotes")) {
+            return loteResource.isResolvable();
+        } else if (uri.startsWith("/api/estimaciones")) {
+            return estimacionResource.isResolvable();
+        } else if (uri.startsWith("/api/fichas")) {
+            return fichaResource.isResolvable();
+        }
+        return estadisticaResource.isResolvable();
+    }
+
+    private void leer(LambdaHttpHandler handler, String uri, Map<String, String> headers) {
+        var separador = uri.indexOf('?');
+        var path = separador < 0 ? uri : uri.substring(0, separador);
+        var headersRequest = new HashMap<>(headers);
+        headersRequest.put("accept", "application/json");
+        headersRequest.put("host", "localhost");
+
+        var event = APIGatewayV2HTTPEvent.builder()
+                .withVersion("2.0")
+                .withRawPath(path)
+                .withRawQueryString(separador < 0 ? "" : uri.substring(separador + 1))
+                .withHeaders(headersRequest)
+                .withRequestContext(APIGatewayV2HTTPEvent.RequestContext.builder()
+                        .withHttp(APIGatewayV2HTTPEvent.RequestContext.Http.builder()
+                                .withMethod("GET")
+                                .withPath(path)
+                                .withProtocol("HTTP/1.1")
+                                .withSourceIp("127.0.0.1")
+                                .build())
+                        .build())
+                .build();
+        try {
+            var response = handler.handleRequest(event, null);
+            if (response.getStatusCode() >= 500) {
+                LOG.debugf("Priming GET %s respondió %d", uri, response.getStatusCode());
+            }
+        } catch (RuntimeException e) {
+            LOG.debugf(e, "Priming GET %s falló", uri);
+        }
+    }
+
+    // Escrituras por los mismos resources que usa REST, siempre revertidas
+    private void escribir(JsonNode payloads) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                try {
+                    LoteDTO lote = null;
+                    if (loteResource.isResolvable()) {
+                        var resource = loteResource.get();
+                        lote = paso("POST /api/lotes", () -> resource.create(leer(payloads, "lote", LoteDTO.class)));
+                        if (lote != null) {
+                            var creado = lote;
+                            paso("PUT /api/lotes/{id}", () -> resource.update(creado.id(), new LoteDTO(
+                                    creado.id(), creado.codigoSector(), creado.codigoManzana(), creado.codigoLote(),
+                                    creado.latitud().add(new BigDecimal("0.0001")), creado.longitud(),
+                                    creado.precisionMetros(), null, null)));
+                        }
+                    }
+
+                    // Sin el lote del payload (artefacto de estimacionApi) el POST recorre el camino de error
+                    if (estimacionResource.isResolvable()) {
+                        var resource = estimacionResource.get();
+                        EstimacionDTO estimacion = paso("POST /api/estimaciones",
+                                () -> resource.create(leer(payloads, "estimacion", EstimacionDTO.class)));
+                        if (estimacion != null) {
+                            paso("PUT /api/estimaciones/{id}", () -> resource.update(estimacion.id(), estimacion));
+                            paso("DELETE /api/estimaciones/{id}", () -> resource.delete(estimacion.id()));
+                        }
+                    }
+
+                    if (fichaResource.isResolvable()) {
+                        var resource = fichaResource.get();
+                        FichaCatastralDTO ficha = paso("POST /api/fichas",
+                                () -> resource.create(leer(payloads, "ficha", FichaCatastralDTO.class)));
+                        if (ficha != null) {
+                            paso("PUT /api/fichas/{id}", () -> resource.update(ficha.id(), ficha));
+                            paso("DELETE /api/fichas/{id}", () -> resource.delete(ficha.id()));
+                        }
+                        paso("POST /api/fichas/bulk", () -> resource.bulkCreate(new ByteArrayInputStream(
+                                payloads.get("ficha").toString().getBytes(StandardCharsets.UTF_8))));
+                    }
+
+                    if (lote != null) {
+                        var creado = lote;
+                        paso("DELETE /api/lotes/{id}", () -> loteResource.get().delete(creado.id()));
+                    }
+                } finally {
+                    QuarkusTransaction.setRollbackOnly();
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.warn("Priming SnapStart: las escrituras no se completaron", e);
+        }
+    }
+
+    // Serializa la respuesta como lo haría REST y devuelve el dato creado, o null si falló
+    @SuppressWarnings("unchecked")
+    private <T> T paso(String nombre, Supplier<Response> llamada) {
+        try {
+            var response = llamada.get();
+            objectMapper.writeValueAsBytes(response.getEntity());
+            return response.getEntity() instanceof ApiResponse<?> body && body.success()
+                    ? (T) body.data()
+                    : null;
+        } catch (IOException | RuntimeException e) {
+            LOG.debugf(e, "Priming %s falló", nombre);
+            return null;
+        }
+    }
+
+    private <T> T leer(JsonNode payloads, String nombre, Class<T> tipo) {
+        try {
+            // Ida y vuelta por bytes: el mismo camino de deserialización que un body REST
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(payloads.get(nombre)), tipo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode payloads() {
+        try (var in = Thread.currentThread().getContextClassLoader().getResourceAsStream(PAYLOADS)) {
+            return objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.municipalidad.catastro.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.municipalidad.catastro.repository.SqlRequestStats;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+// Publica los contadores SQL de cada request: headers X-SQL-* fuera de prod, métricas en formato
+// CloudWatch EMF en prod, y un warning por cada SELECT que se repite más del umbral (N+1).
+// Lo que se ejecuta después de los filtros (el streaming de /api/fichas/export) no entra
+@Provider
+public class SqlStatsFilter implements ContainerResponseFilter {
+
+    private static final Logger LOG = Logger.getLogger(SqlStatsFilter.class);
+
+    // Categoría con handler propio en application.properties: la línea tiene que ser solo el JSON
+    private static final Logger METRICAS = Logger.getLogger("catastro.sql.metrics");
+
+    @ConfigProperty(name = "catastro.sql.stats.headers", defaultValue = "false")
+    boolean headers;
+
+    @ConfigProperty(name = "catastro.sql.stats.metrics", defaultValue = "false")
+    boolean metrics;
+
+    @ConfigProperty(name = "catastro.sql.stats.repeat-threshold", defaultValue = "10")
+    int umbral;
+
+    @ConfigProperty(name = "quarkus.application.name")
+    String namespace;
+
+    @Inject
+    SqlRequestStats stats;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!stats.enabled() || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+        var ruta = resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+
+        // Solo lecturas: los INSERT de un batch y los nextval del pool de ids (bulk) repiten la
+        // misma forma sin ser un N+1
+        stats.formas().forEach((forma, veces) -> {
+            if (veces > umbral && esLectura(forma)) {
+                LOG.warnf("%s ejecutó %d veces la misma consulta (posible N+1): %s", ruta, veces, forma);
+            }
+        });
+
+        if (headers) {
+            var h = response.getHeaders();
+            h.putSingle("X-SQL-Statements", stats.sentencias());
+            h.putSingle("X-SQL-Time-Ms", String.format(Locale.ROOT, "%.2f", stats.jdbcMs()));
+            h.putSingle("X-SQL-Entities", stats.entidades());
+        }
+        if (metrics) {
+            try {
+                METRICAS.info(emf(ruta));
+            } catch (JsonProcessingException e) {
+                LOG.debug("No se pudieron emitir las métricas SQL", e);
+            }
+        }
+    }
+
+    private static boolean esLectura(String forma) {
+        return forma.regionMatches(true, 0, "select", 0, 6)
+                && !forma.regionMatches(true, 0, "select nextval", 0, 14);
+    }
+
+    private String emf(String ruta) throws JsonProcessingException {
+        var definicion = Map.of(
+                "Namespace", namespace,
+                "Dimensions", List.of(List.of("Route")),
+                "Metrics", List.of(
+                        Map.of("Name", "SqlStatements", "Unit", "Count"),
+                        Map.of("Name", "SqlJdbcTime", "Unit", "Milliseconds"),
+                        Map.of("Name", "SqlEntities", "Unit", "Count")));
+        var evento = Map.of(
+                "_aws", Map.of("Timestamp", System.currentTimeMillis(), "CloudWatchMetrics", List.of(definicion)),
+                "Route", ruta,
+                "SqlStatements", stats.sentencias(),
+                "SqlJdbcTime", stats.jdbcMs(),
+                "SqlEntities", stats.entidades());
+        return objectMapper.writeValueAsString(evento);
+    }
+}
@@ -0,0 +1,94 @@
+package com.municipalidad.catastro.service;
+
+import com.municipalidad.catastro.dto.ApiResponse;
+import com.municipalidad.catastro.dto.DensidadDTO;
+import com.municipalidad.catastro.repository.LoteRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+// Densidad de lotes, viviendas y área construida por celda de una grilla en metros.
+// Las grillas se cachean por instancia y no se invalidan al escribir: un alta, un cambio de posición
+// o una baja se ven recién cuando vence la entrada (expire-after-write de "lote-densidad")
+@ApplicationScoped
+public class DensidadService {
+
+    public static final double MIN_CELDA_METROS = 10;
+    public static final double MAX_CELDA_METROS = 5000;
+
+    private static final int MAX_CELDAS = 250_000;
+
+    private record Clave(String codigoSector, double tamanoCeldaMetros) {}
+
+    @Inject
+    @CacheName("lote-densidad")
+    Cache cache;
+
+    @Inject
+    LoteRepository loteRepository;
+
+    public ApiResponse<DensidadDTO> densidad(String codigoSector, double tamanoCeldaMetros) {
+        if (tamanoCeldaMetros < MIN_CELDA_METROS || tamanoCeldaMetros > MAX_CELDA_METROS) {
+            return ApiResponse.error("El tamaño de celda debe estar entre " + (int) MIN_CELDA_METROS +
+                    " y " + (int) MAX_CELDA_METROS + " metros");
+        }
+
+        try {
+            var dto = cache.get(new Clave(codigoSector, tamanoCeldaMetros),
+                    key -> calcular(codigoSector, tamanoCeldaMetros)).await().indefinitely();
+            return ApiResponse.success(dto);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        }
+    }
+
+    // Una sola pasada sobre los lotes del sector acumulando en arreglos primitivos
+    private DensidadDTO calcular(String codigoSector, double tamanoCeldaMetros) {
+        var bounds = loteRepository.findBoundsBySector(codigoSector);
+        if (bounds[0] == null) {
+            return new DensidadDTO(codigoSector, tamanoCeldaMetros, 0, 0, 0, 0, 0, 0, List.of());
+        }
+
+        var minLat = ((Number) bounds[0]).doubleValue();
+        var maxLat = ((Number) bounds[1]).doubleValue();
+        var minLon = ((Number) bounds[2]).doubleValue();
+        var maxLon = ((Number) bounds[3]).doubleValue();
+
+        var celdaLat = Geo.gradosLatitud(tamanoCeldaMetros);
+        var celdaLon = Geo.gradosLongitud(tamanoCeldaMetros, (minLat + maxLat) / 2);
+        var filas = (int) Math.floor((maxLat - minLat) / celdaLat) + 1;
+        var columnas = (int) Math.floor((maxLon - minLon) / celdaLon) + 1;
+        if ((long) filas * columnas > MAX_CELDAS) {
+            throw new IllegalArgumentException(
+                    "La grilla excede " + MAX_CELDAS + " celdas; use un tamaño de celda mayor");
+        }
+
+        var lotes = new int[filas * columnas];
+        var viviendas = new long[filas * columnas];
+        var area = new double[filas * columnas];
+
+        try (var rows = loteRepository.streamDensidadBySector(codigoSector)) {
+            rows.forEach(row -> {
+                var fila = Math.min(filas - 1, (int) ((((Number) row[0]).doubleValue() - minLat) / celdaLat));
+                var columna = Math.min(columnas - 1, (int) ((((Number) row[1]).doubleValue() - minLon) / celdaLon));
+                var i = fila * columnas + columna;
+                lotes[i]++;
+                viviendas[i] += ((Number) row[2]).longValue();
+                area[i] += ((Number) row[3]).doubleValue();
+            });
+        }
+
+        var celdas = new ArrayList<DensidadDTO.Celda>();
+        for (int i = 0; i < lotes.length; i++) {
+            if (lotes[i] > 0) {
+                celdas.add(new DensidadDTO.Celda(i / columnas, i % columnas, lotes[i], viviendas[i], area[i]));
+            }
+        }
+
+        return new DensidadDTO(codigoSector, tamanoCeldaMetros, minLat, minLon, celdaLat, celdaLon,
+                filas, columnas, celdas);
+    }
+}
@@ -0,0 +1,50 @@
+package com.municipalidad.catastro.service;
+
+import com.municipalidad.catastro.domain.ficha.FichaCatastral;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.municipalidad.catastro.domain.estadistica.EstadisticaCatastral.*;
+
+// Acumula variaciones de contadores; las que se compensan (p. ej. una actualización
+// que no cambia el tipo de predio) no generan escrituras
+public class EstadisticaDelta {
+
+    public record Clave(String codigoSector, String codigoManzana, String indicador, String valor) {}
+
+    private final Map<Clave, Long> valores = new HashMap<>();
+
+    public EstadisticaDelta add(String codigoSector, String codigoManzana,
+                                String indicador, String valor, long delta) {
+        valores.merge(new Clave(nvl(codigoSector), nvl(codigoManzana), indicador, nvl(valor)),
+                delta, Long::sum);
+        return this;
+    }
+
+    public EstadisticaDelta lote(String codigoSector, String codigoManzana, int signo) {
+        return add(codigoSector, codigoManzana, LOTES, null, signo);
+    }
+
+    // Lee los valores actuales de la ficha: llamar antes de modificarla para restar su aporte
+    public EstadisticaDelta ficha(FichaCatastral ficha, int signo) {
+        add(ficha.codigoSector, ficha.codigoManzana, FICHAS, null, signo);
+        add(ficha.codigoSector, ficha.codigoManzana, FICHAS_TIPO_PREDIO, ficha.tipoPredio, signo);
+        if (ficha.servicios != null) {
+            var basicos = ficha.servicios.contarServiciosBasicos();
+            if (basicos == 3) {
+                add(ficha.codigoSector, ficha.codigoManzana, SERVICIOS_BASICOS_COMPLETOS, null, signo);
+            } else if (basicos == 0) {
+                add(ficha.codigoSector, ficha.codigoManzana, SIN_SERVICIOS_BASICOS, null, signo);
+            }
+        }
+        return this;
+    }
+
+    public Map<Clave, Long> valores() {
+        return valores;
+    }
+
+    private static String nvl(String value) {
+        return value != null ? value : "";
+    }
+}
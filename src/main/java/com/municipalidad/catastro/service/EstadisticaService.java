@@ -0,0 +1,89 @@
+package com.municipalidad.catastro.service;
+
+import com.municipalidad.catastro.domain.estadistica.EstadisticaCatastral;
+import com.municipalidad.catastro.dto.ApiResponse;
+import com.municipalidad.catastro.dto.EstadisticaDTO;
+import com.municipalidad.catastro.repository.EstadisticaRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.municipalidad.catastro.domain.estadistica.EstadisticaCatastral.*;
+
+@ApplicationScoped
+public class EstadisticaService {
+
+    @Inject
+    EstadisticaRepository estadisticaRepository;
+
+    // Se ejecuta dentro de la transacción del servicio que originó el cambio
+    public void aplicar(EstadisticaDelta delta) {
+        delta.valores().forEach((clave, valor) -> {
+            if (valor != 0) {
+                estadisticaRepository.incrementar(clave.codigoSector(), clave.codigoManzana(),
+                        clave.indicador(), clave.valor(), valor);
+            }
+        });
+    }
+
+    public void registrarEstimacion(Long loteId, String tipoTerreno, long delta) {
+        if (loteId != null) {
+            estadisticaRepository.incrementarPorLote(loteId, ESTIMACIONES_TIPO_TERRENO,
+                    tipoTerreno != null ? tipoTerreno : "", delta);
+        }
+    }
+
+    public ApiResponse<EstadisticaDTO> resumen(String codigoSector, String codigoManzana) {
+        var dto = toDTO(codigoSector, codigoManzana,
+                estadisticaRepository.sumByIndicador(codigoSector, codigoManzana).stream()
+                        .map(row -> new Fila((String) row[0], (String) row[1], ((Number) row[2]).longValue()))
+                        .toList());
+        return ApiResponse.success(dto);
+    }
+
+    public ApiResponse<List<EstadisticaDTO>> porManzana(String codigoSector) {
+        var manzanas = new LinkedHashMap<String, List<Fila>>();
+        for (var e : estadisticaRepository.findBySector(codigoSector)) {
+            manzanas.computeIfAbsent(e.codigoManzana, k -> new ArrayList<>())
+                    .add(new Fila(e.indicador, e.valor, e.total));
+        }
+
+        var result = new ArrayList<EstadisticaDTO>(manzanas.size());
+        manzanas.forEach((manzana, filas) -> result.add(toDTO(codigoSector, manzana, filas)));
+        return ApiResponse.success(result);
+    }
+
+    @Transactional
+    public ApiResponse<Void> recalcular() {
+        estadisticaRepository.recalcular();
+        return ApiResponse.success("Estadísticas recalculadas exitosamente", null);
+    }
+
+    private record Fila(String indicador, String valor, long total) {}
+
+    private EstadisticaDTO toDTO(String codigoSector, String codigoManzana, List<Fila> filas) {
+        long lotes = 0, fichas = 0, conServicios = 0, sinServicios = 0;
+        Map<String, Long> tiposPredio = new TreeMap<>();
+        Map<String, Long> tiposTerreno = new TreeMap<>();
+
+        for (var fila : filas) {
+            switch (fila.indicador()) {
+                case LOTES -> lotes += fila.total();
+                case FICHAS -> fichas += fila.total();
+                case SERVICIOS_BASICOS_COMPLETOS -> conServicios += fila.total();
+                case SIN_SERVICIOS_BASICOS -> sinServicios += fila.total();
+                case FICHAS_TIPO_PREDIO -> tiposPredio.merge(fila.valor(), fila.total(), Long::sum);
+                case ESTIMACIONES_TIPO_TERRENO -> tiposTerreno.merge(fila.valor(), fila.total(), Long::sum);
+                default -> { }
+            }
+        }
+
+        return new EstadisticaDTO(codigoSector, codigoManzana, lotes, fichas, conServicios,
+                sinServicios, tiposPredio, tiposTerreno);
+    }
+}
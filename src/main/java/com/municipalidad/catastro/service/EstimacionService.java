@@ -1,6 +1,6 @@
 package com.municipalidad.catastro.service;
 
-import com.municipalidad.catastro.domain.Estimacion;
+import com.municipalidad.catastro.domain.lote.Estimacion;
 import com.municipalidad.catastro.dto.ApiResponse;
 import com.municipalidad.catastro.dto.EstimacionDTO;
 import com.municipalidad.catastro.repository.EstimacionRepository;
@@ -8,7 +8,9 @@ import com.municipalidad.catastro.repository.LoteRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -20,24 +22,35 @@ public class EstimacionService {
     @Inject
     LoteRepository loteRepository;
 
-    @Transactional
-    public ApiResponse<EstimacionDTO> create(EstimacionDTO dto) {
-        return loteRepository.findByCodigoLote(dto.codigoLote())
-                .map(lote -> {
-                    var estimacion = mapToEntity(dto);
-                    estimacion.lote = lote;
-
-                    // Calcular total de unidades catastrales si no fue proporcionado
-                    if (estimacion.numUnidadesCatastrales == null || estimacion.numUnidadesCatastrales == 0) {
-                        estimacion.numUnidadesCatastrales = estimacion.calcularTotalUnidades();
-                    }
+    @Inject
+    LoteIdCache loteIdCache;
 
-                    estimacionRepository.persist(estimacion);
-                    lote.addEstimacion(estimacion);
+    @Inject
+    EstadisticaService estadisticaService;
 
-                    return ApiResponse.created("Estimación creada exitosamente", mapToDTO(estimacion));
-                })
-                .orElse(ApiResponse.error("Lote no encontrado con código: " + dto.codigoLote()));
+    // La transacción la abre LoteIdCache.conLote (o usa la ya activa), que reintenta si el id cacheado
+    // ya no existe
+    public ApiResponse<EstimacionDTO> create(EstimacionDTO dto) {
+        return loteIdCache.conLote(dto.codigoLote(), loteId -> {
+            var estimacion = mapToEntity(dto);
+            estimacion.lote = loteRepository.getReference(loteId);
+
+            // Calcular total de unidades catastrales si no fue proporcionado
+            if (estimacion.numUnidadesCatastrales == null || estimacion.numUnidadesCatastrales == 0) {
+                estimacion.numUnidadesCatastrales = estimacion.calcularTotalUnidades();
+            }
+
+            estimacionRepository.persist(estimacion);
+            // Un lote borrado desde otra instancia falla acá, antes de tocar las estadísticas
+            estimacionRepository.flush();
+            estadisticaService.registrarEstimacion(loteId, estimacion.tipoTerreno, 1);
+
+            return ApiResponse.created("Estimación creada exitosamente", mapToDTO(estimacion));
+        });
+    }
+
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return estimacionRepository.findFechaModificacion(id);
     }
 
     public ApiResponse<EstimacionDTO> findById(Long id) {
@@ -51,8 +64,15 @@ public class EstimacionService {
     public ApiResponse<EstimacionDTO> update(Long id, EstimacionDTO dto) {
         return estimacionRepository.findByIdOptional(id)
                 .map(estimacion -> {
+                    var tipoAnterior = estimacion.tipoTerreno;
                     updateEntity(estimacion, dto);
 
+                    if (!Objects.equals(tipoAnterior, estimacion.tipoTerreno)) {
+                        var loteId = estimacion.lote != null ? estimacion.lote.id : null;
+                        estadisticaService.registrarEstimacion(loteId, tipoAnterior, -1);
+                        estadisticaService.registrarEstimacion(loteId, estimacion.tipoTerreno, 1);
+                    }
+
                     // Recalcular total de unidades catastrales
                     estimacion.numUnidadesCatastrales = estimacion.calcularTotalUnidades();
 
@@ -63,9 +83,13 @@ public class EstimacionService {
 
     @Transactional
     public ApiResponse<Void> delete(Long id) {
-        return Optional.of(estimacionRepository.deleteById(id))
-                .filter(deleted -> deleted)
-                .map(deleted -> ApiResponse.<Void>success("Estimación eliminada exitosamente", null))
+        return estimacionRepository.findByIdOptional(id)
+                .map(estimacion -> {
+                    estadisticaService.registrarEstimacion(
+                            estimacion.lote != null ? estimacion.lote.id : null, estimacion.tipoTerreno, -1);
+                    estimacionRepository.delete(estimacion);
+                    return ApiResponse.<Void>success("Estimación eliminada exitosamente", null);
+                })
                 .orElse(ApiResponse.notFound("Estimación no encontrada con ID: " + id));
     }
 
@@ -95,7 +119,7 @@ public class EstimacionService {
         return ApiResponse.success(count);
     }
 
-    private Estimacion mapToEntity(EstimacionDTO dto) {
+    Estimacion mapToEntity(EstimacionDTO dto) {
         var e = new Estimacion();
         e.codigoLote = dto.codigoLote();
         e.numUnidadesCatastrales = dto.numUnidadesCatastrales() != null ? dto.numUnidadesCatastrales() : 0;
@@ -116,7 +140,7 @@ public class EstimacionService {
         return e;
     }
 
-    private EstimacionDTO mapToDTO(Estimacion e) {
+    EstimacionDTO mapToDTO(Estimacion e) {
         return new EstimacionDTO(
                 e.id,
                 e.lote != null ? e.lote.id : null,
@@ -1,19 +1,46 @@
 package com.municipalidad.catastro.service;
 
-import com.municipalidad.catastro.domain.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.municipalidad.catastro.domain.ficha.*;
 import com.municipalidad.catastro.dto.*;
 import com.municipalidad.catastro.repository.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.hibernate.Session;
 
 @ApplicationScoped
 public class FichaCatastralService {
 
+    // Máximo de fichas por consulta IN al cargar hijos en bloque
+    private static final int CHILD_BATCH_SIZE = 1000;
+
+    // Fichas escritas entre cada limpieza de la sesión durante una exportación
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    // Fichas por bloque (una transacción y un flush) durante una importación masiva
+    private static final int IMPORT_FLUSH_SIZE = 500;
+
+    // Tope de resultados por página en la búsqueda de titulares
+    private static final int MAX_TITULARES_PAGE = 100;
+
     @Inject
     FichaCatastralRepository fichaRepository;
 
@@ -26,6 +53,15 @@ public class FichaCatastralService {
     @Inject
     ServicioRepository servicioRepository;
 
+    @Inject
+    EstadisticaService estadisticaService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
     @Transactional
     public ApiResponse<FichaCatastralDTO> create(FichaCatastralDTO dto) {
         // Verificar si ya existe una ficha con el mismo código completo
@@ -38,6 +74,121 @@ public class FichaCatastralService {
             }
         }
 
+        var ficha = persistFicha(dto);
+        estadisticaService.aplicar(new EstadisticaDelta().ficha(ficha, 1));
+        return ApiResponse.created("Ficha catastral creada exitosamente", mapToDTO(ficha));
+    }
+
+    // Importación masiva: acepta un arreglo JSON o NDJSON y retorna un resultado por fila. El cuerpo
+    // se lee en streaming y se guarda en bloques de IMPORT_FLUSH_SIZE fichas, cada uno en su propia
+    // transacción: un error de base en un bloque no revierte los anteriores
+    public ApiResponse<List<ImportResultDTO>> bulkCreate(InputStream body) {
+        var resultados = new ArrayList<ImportResultDTO>();
+        var bloque = new ArrayList<FichaCatastralDTO>(IMPORT_FLUSH_SIZE);
+        int desde = 0;
+        try (var it = objectMapper.readerFor(FichaCatastralDTO.class).<FichaCatastralDTO>readValues(body)) {
+            while (it.hasNextValue()) {
+                bloque.add(it.nextValue());
+                if (bloque.size() == IMPORT_FLUSH_SIZE) {
+                    importarBloque(desde, bloque, resultados);
+                    desde += bloque.size();
+                    bloque.clear();
+                }
+            }
+        } catch (IOException e) {
+            if (desde == 0 && bloque.isEmpty()) {
+                return ApiResponse.error("Contenido JSON inválido: " + e.getMessage());
+            }
+            // Las filas ya leídas se guardan; el resto del cuerpo no se puede recorrer
+            importarBloque(desde, bloque, resultados);
+            resultados.add(ImportResultDTO.error(desde + bloque.size(), null,
+                    "Contenido JSON inválido desde esta fila: " + e.getMessage()));
+            return ApiResponse.success("Importación procesada", resultados);
+        }
+
+        importarBloque(desde, bloque, resultados);
+        return ApiResponse.success("Importación procesada", resultados);
+    }
+
+    // Un bloque en su transacción, o en la activa (priming de SnapStart). Si la base lo rechaza al
+    // hacer flush o commit (largo de columna, import concurrente del mismo código completo) se
+    // reintenta de a una fila para que solo fallen las que no se pueden guardar
+    private void importarBloque(int desde, List<FichaCatastralDTO> bloque, List<ImportResultDTO> resultados) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+        try {
+            resultados.addAll(QuarkusTransaction.joiningExisting().call(() -> guardarBloque(desde, bloque)));
+        } catch (RuntimeException e) {
+            for (int i = 0; i < bloque.size(); i++) {
+                int fila = desde + i;
+                var dto = bloque.get(i);
+                try {
+                    resultados.addAll(QuarkusTransaction.joiningExisting()
+                            .call(() -> guardarBloque(fila, List.of(dto))));
+                } catch (RuntimeException errorFila) {
+                    resultados.add(ImportResultDTO.error(fila, dto.codigoLote(),
+                            "No se pudo guardar la ficha: " + causaRaiz(errorFila).getMessage()));
+                }
+            }
+        }
+    }
+
+    private List<ImportResultDTO> guardarBloque(int desde, List<FichaCatastralDTO> bloque) {
+        // Una sola verificación de duplicados por bloque; los bloques anteriores ya están en la base
+        var codigosLote = bloque.stream()
+                .map(FichaCatastralDTO::codigoLote)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        var existentes = new HashSet<String>(codigosLote.isEmpty()
+                ? List.of()
+                : fichaRepository.findCodigosCompletos(codigosLote));
+
+        var resultados = new ArrayList<ImportResultDTO>(bloque.size());
+        var estadisticas = new EstadisticaDelta();
+        for (int i = 0; i < bloque.size(); i++) {
+            var dto = bloque.get(i);
+
+            var violaciones = validator.validate(dto);
+            if (!violaciones.isEmpty()) {
+                var error = violaciones.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; "));
+                resultados.add(ImportResultDTO.error(desde + i, dto.codigoLote(), error));
+                continue;
+            }
+
+            if (dto.codigoUnidad() != null && dto.codigoPiso() != null
+                    && !existentes.add(codigoCompleto(dto.codigoLote(), dto.codigoUnidad(), dto.codigoPiso()))) {
+                resultados.add(ImportResultDTO.error(desde + i, dto.codigoLote(),
+                        "Ya existe una ficha con este código completo"));
+                continue;
+            }
+
+            var ficha = persistFicha(dto);
+            estadisticas.ficha(ficha, 1);
+            resultados.add(ImportResultDTO.created(desde + i, ficha.id, ficha.codigoLote));
+        }
+        estadisticaService.aplicar(estadisticas);
+
+        // Flush acá para que un error de base caiga dentro del bloque; el clear acota la memoria
+        // cuando el bloque corre en una transacción ya activa
+        var session = fichaRepository.getEntityManager().unwrap(Session.class);
+        session.flush();
+        session.clear();
+        return resultados;
+    }
+
+    private static Throwable causaRaiz(Throwable e) {
+        var causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa;
+    }
+
+    private FichaCatastral persistFicha(FichaCatastralDTO dto) {
         var ficha = mapToEntity(dto);
         fichaRepository.persist(ficha);
 
@@ -69,12 +220,20 @@ public class FichaCatastralService {
             ficha.servicios = servicio;
         }
 
-        return ApiResponse.created("Ficha catastral creada exitosamente", mapToDTO(ficha));
+        return ficha;
     }
 
-    public ApiResponse<FichaCatastralDTO> findById(Long id) {
-        return fichaRepository.findByIdOptional(id)
-                .map(this::mapToDTO)
+    private static String codigoCompleto(String codigoLote, String codigoUnidad, String codigoPiso) {
+        return codigoLote + "|" + codigoUnidad + "|" + codigoPiso;
+    }
+
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return fichaRepository.findFechaModificacion(id);
+    }
+
+    // Lectura de una ficha con sus hijos en una sola sentencia, sin pasar por entidades
+    public ApiResponse<FichaJson> findById(Long id) {
+        return fichaRepository.findJson(id)
                 .map(ApiResponse::success)
                 .orElse(ApiResponse.notFound("Ficha catastral no encontrada con ID: " + id));
     }
@@ -83,78 +242,133 @@ public class FichaCatastralService {
     public ApiResponse<FichaCatastralDTO> update(Long id, FichaCatastralDTO dto) {
         return fichaRepository.findByIdOptional(id)
                 .map(ficha -> {
+                    var estadisticas = new EstadisticaDelta().ficha(ficha, -1);
+                    // Cargar los hijos antes de modificar nada para que ninguna consulta
+                    // dispare un flush parcial antes de revisar si hubo cambios
+                    var titularesActuales = titularRepository.findByFichaId(id);
+                    var construccionesActuales = construccionRepository.findByFichaId(id);
                     updateEntity(ficha, dto);
 
-                    // Actualizar titulares (eliminar y recrear)
-                    titularRepository.deleteByFichaId(id);
-                    if (dto.titulares() != null && !dto.titulares().isEmpty()) {
-                        dto.titulares().forEach(titularDTO -> {
-                            var titular = mapTitularToEntity(titularDTO);
-                            titular.ficha = ficha;
-                            titularRepository.persist(titular);
-                        });
-                    }
-
-                    // Actualizar construcciones (eliminar y recrear)
-                    construccionRepository.deleteByFichaId(id);
-                    if (dto.construcciones() != null && !dto.construcciones().isEmpty()) {
-                        dto.construcciones().forEach(consDTO -> {
-                            var cons = mapConstruccionToEntity(consDTO);
-                            cons.ficha = ficha;
-                            construccionRepository.persist(cons);
-                        });
-                    }
+                    // Reconciliar hijos por id: el dirty checking solo emite los UPDATE
+                    // necesarios y los INSERT/DELETE se agrupan en lotes JDBC
+                    var titulares = syncTitulares(ficha, titularesActuales, dto.titulares());
+                    var construcciones = syncConstrucciones(ficha, construccionesActuales, dto.construcciones());
+                    syncServicio(ficha, dto.servicios());
 
-                    // Actualizar servicios (eliminar y recrear)
-                    servicioRepository.deleteByFichaId(id);
-                    if (dto.servicios() != null) {
-                        var servicio = mapServicioToEntity(dto.servicios());
-                        servicio.ficha = ficha;
-                        servicioRepository.persist(servicio);
+                    // Un cambio solo en los hijos también es una nueva versión de la ficha (ETag)
+                    if (fichaRepository.getEntityManager().unwrap(Session.class).isDirty()) {
+                        ficha.fechaModificacion = LocalDateTime.now();
                     }
+                    estadisticaService.aplicar(estadisticas.ficha(ficha, 1));
 
-                    return ApiResponse.success("Ficha catastral actualizada exitosamente", mapToDTO(ficha));
+                    return ApiResponse.success("Ficha catastral actualizada exitosamente", mapToDTO(ficha,
+                            titulares.stream().map(this::mapTitularToDTO).toList(),
+                            construcciones.stream().map(this::mapConstruccionToDTO).toList(),
+                            ficha.servicios != null ? mapServicioToDTO(ficha.servicios) : null));
                 })
                 .orElse(ApiResponse.notFound("Ficha catastral no encontrada con ID: " + id));
     }
 
     @Transactional
     public ApiResponse<Void> delete(Long id) {
-        return Optional.of(fichaRepository.deleteById(id))
-                .filter(deleted -> deleted)
-                .map(deleted -> ApiResponse.<Void>success("Ficha catastral eliminada exitosamente", null))
+        return fichaRepository.findByIdOptional(id)
+                .map(ficha -> {
+                    estadisticaService.aplicar(new EstadisticaDelta().ficha(ficha, -1));
+                    fichaRepository.delete(ficha);
+                    return ApiResponse.<Void>success("Ficha catastral eliminada exitosamente", null);
+                })
                 .orElse(ApiResponse.notFound("Ficha catastral no encontrada con ID: " + id));
     }
 
     public ApiResponse<List<FichaCatastralDTO>> findByCodigoLote(String codigoLote) {
-        var fichas = fichaRepository.findByCodigoLote(codigoLote).stream()
-                .map(this::mapToDTO)
-                .toList();
+        var fichas = mapToDTOs(fichaRepository.findByCodigoLote(codigoLote));
         return ApiResponse.success(fichas);
     }
 
     public ApiResponse<List<FichaCatastralDTO>> findBySector(String codigoSector) {
-        var fichas = fichaRepository.findBySector(codigoSector).stream()
-                .map(this::mapToDTO)
-                .toList();
+        var fichas = mapToDTOs(fichaRepository.findBySector(codigoSector));
         return ApiResponse.success(fichas);
     }
 
     public ApiResponse<List<FichaCatastralDTO>> findByTipoPredio(String tipoPredio) {
-        var fichas = fichaRepository.findByTipoPredio(tipoPredio).stream()
-                .map(this::mapToDTO)
-                .toList();
+        var fichas = mapToDTOs(fichaRepository.findByTipoPredio(tipoPredio));
         return ApiResponse.success(fichas);
     }
 
     public ApiResponse<List<FichaCatastralDTO>> findAll(int page, int size) {
-        var fichas = fichaRepository.findAll(page, size).stream()
-                .map(this::mapToDTO)
-                .toList();
+        var fichas = mapToDTOs(fichaRepository.findAll(page, size));
         return ApiResponse.success(fichas);
     }
 
-    private FichaCatastral mapToEntity(FichaCatastralDTO dto) {
+    public ApiResponse<List<FichaCatastralDTO>> findAfter(String cursor, int size) {
+        return PageCursor.page(cursor, size, fichaRepository::findAfter,
+                ficha -> new PageCursor(ficha.fechaCreacion, ficha.id), this::mapToDTOs);
+    }
+
+    public ApiResponse<List<TitularBusquedaDTO>> buscarTitulares(String termino, int page, int size) {
+        // Los trigramas requieren al menos 3 caracteres para usar el índice
+        if (termino == null || termino.strip().length() < 3) {
+            return ApiResponse.error("El término de búsqueda debe tener al menos 3 caracteres");
+        }
+        if (page < 0) {
+            return ApiResponse.error("La página no puede ser negativa");
+        }
+        if (size < 1 || size > MAX_TITULARES_PAGE) {
+            return ApiResponse.error("El tamaño de página debe estar entre 1 y " + MAX_TITULARES_PAGE);
+        }
+        var limpio = termino.strip();
+        // Escapar comodines de LIKE para que el término se busque literalmente
+        var patron = limpio
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return ApiResponse.success(titularRepository.buscarPorNombre(limpio, patron, page, size));
+    }
+
+    public ApiResponse<List<FichaResumenDTO>> findResumen(int page, int size) {
+        return ApiResponse.success(fichaRepository.findResumen(page, size));
+    }
+
+    public ApiResponse<List<FichaResumenDTO>> findResumenBySector(String codigoSector) {
+        return ApiResponse.success(fichaRepository.findResumenBySector(codigoSector));
+    }
+
+    public ApiResponse<List<FichaResumenDTO>> findResumenAfter(String cursor, int size) {
+        return PageCursor.page(cursor, size, fichaRepository::findResumenAfter,
+                ficha -> new PageCursor(ficha.fechaCreacion(), ficha.id()), Function.identity());
+    }
+
+    // Escribe una línea JSON por ficha; la sesión se limpia cada EXPORT_BATCH_SIZE fichas
+    // para que el uso de memoria no dependa del tamaño del sector
+    @Transactional
+    public void exportBySector(String codigoSector, OutputStream out) throws IOException {
+        var session = fichaRepository.getEntityManager().unwrap(Session.class);
+        var writer = objectMapper.writerFor(FichaCatastralDTO.class);
+        var buffer = new ArrayList<FichaCatastral>(EXPORT_BATCH_SIZE);
+
+        try (var fichas = fichaRepository.scrollBySector(codigoSector)) {
+            while (fichas.next()) {
+                buffer.add(fichas.get());
+                if (buffer.size() == EXPORT_BATCH_SIZE) {
+                    writeLines(buffer, writer, out);
+                    buffer.clear();
+                    session.clear();
+                }
+            }
+            writeLines(buffer, writer, out);
+        }
+    }
+
+    private void writeLines(List<FichaCatastral> fichas, ObjectWriter writer, OutputStream out)
+            throws IOException {
+        for (var dto : mapToDTOs(fichas)) {
+            out.write(writer.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    FichaCatastral mapToEntity(FichaCatastralDTO dto) {
         var f = new FichaCatastral();
         f.codigoLote = dto.codigoLote();
         f.codigoSector = dto.codigoSector();
@@ -214,6 +428,46 @@ public class FichaCatastralService {
                 .map(this::mapServicioToDTO)
                 .orElse(null);
 
+        return mapToDTO(e, titulares, construcciones, servicios);
+    }
+
+    // Mapea una lista de fichas cargando sus hijos en bloque (3 consultas IN por
+    // cada CHILD_BATCH_SIZE fichas) en lugar de 3 consultas por ficha
+    private List<FichaCatastralDTO> mapToDTOs(List<FichaCatastral> fichas) {
+        if (fichas.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<TitularDTO>> titulares = new HashMap<>();
+        Map<Long, List<ConstruccionDTO>> construcciones = new HashMap<>();
+        Map<Long, ServicioDTO> servicios = new HashMap<>();
+
+        var ids = fichas.stream().map(f -> f.id).toList();
+        for (int from = 0; from < ids.size(); from += CHILD_BATCH_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + CHILD_BATCH_SIZE, ids.size()));
+
+            titularRepository.findByFichaIds(chunk).forEach(t -> titulares
+                    .computeIfAbsent(t.ficha.id, k -> new ArrayList<>())
+                    .add(mapTitularToDTO(t)));
+
+            construccionRepository.findByFichaIds(chunk).forEach(c -> construcciones
+                    .computeIfAbsent(c.ficha.id, k -> new ArrayList<>())
+                    .add(mapConstruccionToDTO(c)));
+
+            servicioRepository.findByFichaIds(chunk).forEach(s ->
+                    servicios.putIfAbsent(s.ficha.id, mapServicioToDTO(s)));
+        }
+
+        return fichas.stream()
+                .map(f -> mapToDTO(f,
+                        titulares.getOrDefault(f.id, List.of()),
+                        construcciones.getOrDefault(f.id, List.of()),
+                        servicios.get(f.id)))
+                .toList();
+    }
+
+    FichaCatastralDTO mapToDTO(FichaCatastral e, List<TitularDTO> titulares,
+                               List<ConstruccionDTO> construcciones, ServicioDTO servicios) {
         return new FichaCatastralDTO(
                 e.id, e.codigoLote, e.codigoSector, e.codigoManzana, e.codigoUnidad,
                 e.codigoPiso, e.codigoEdificacion, e.codigoEntrada, e.contadorFichas,
@@ -266,8 +520,79 @@ public class FichaCatastralService {
         e.observaciones = dto.observaciones();
     }
 
-    private Titular mapTitularToEntity(TitularDTO dto) {
+    private List<Titular> syncTitulares(FichaCatastral ficha, List<Titular> actuales, List<TitularDTO> dtos) {
+        var existentes = actuales.stream()
+                .collect(Collectors.toMap(t -> t.id, t -> t));
+
+        var resultado = new ArrayList<Titular>();
+        if (dtos != null) {
+            for (var dto : dtos) {
+                var titular = dto.id() != null ? existentes.remove(dto.id()) : null;
+                if (titular != null) {
+                    updateTitularEntity(titular, dto);
+                } else {
+                    titular = mapTitularToEntity(dto);
+                    titular.ficha = ficha;
+                    titularRepository.persist(titular);
+                }
+                resultado.add(titular);
+            }
+        }
+
+        existentes.values().forEach(titularRepository::delete);
+        return resultado;
+    }
+
+    private List<Construccion> syncConstrucciones(FichaCatastral ficha, List<Construccion> actuales,
+                                                  List<ConstruccionDTO> dtos) {
+        var existentes = actuales.stream()
+                .collect(Collectors.toMap(c -> c.id, c -> c));
+
+        var resultado = new ArrayList<Construccion>();
+        if (dtos != null) {
+            for (var dto : dtos) {
+                var cons = dto.id() != null ? existentes.remove(dto.id()) : null;
+                if (cons != null) {
+                    updateConstruccionEntity(cons, dto);
+                } else {
+                    cons = mapConstruccionToEntity(dto);
+                    cons.ficha = ficha;
+                    construccionRepository.persist(cons);
+                }
+                resultado.add(cons);
+            }
+        }
+
+        existentes.values().forEach(construccionRepository::delete);
+        return resultado;
+    }
+
+    private void syncServicio(FichaCatastral ficha, ServicioDTO dto) {
+        if (dto == null) {
+            if (ficha.servicios != null) {
+                servicioRepository.delete(ficha.servicios);
+                ficha.servicios = null;
+            }
+            return;
+        }
+
+        if (ficha.servicios != null) {
+            updateServicioEntity(ficha.servicios, dto);
+        } else {
+            var servicio = mapServicioToEntity(dto);
+            servicio.ficha = ficha;
+            servicioRepository.persist(servicio);
+            ficha.servicios = servicio;
+        }
+    }
+
+    Titular mapTitularToEntity(TitularDTO dto) {
         var t = new Titular();
+        updateTitularEntity(t, dto);
+        return t;
+    }
+
+    private void updateTitularEntity(Titular t, TitularDTO dto) {
         t.tipoTitular = dto.tipoTitular();
         t.tipoDocumento = dto.tipoDocumento();
         t.numeroDocumento = dto.numeroDocumento();
@@ -293,10 +618,9 @@ public class FichaCatastralService {
         t.asiento = dto.asiento();
         t.fechaInscripcion = dto.fechaInscripcion();
         t.oficinaRegistral = dto.oficinaRegistral();
-        return t;
     }
 
-    private TitularDTO mapTitularToDTO(Titular e) {
+    TitularDTO mapTitularToDTO(Titular e) {
         return new TitularDTO(
                 e.id, e.ficha != null ? e.ficha.id : null, e.tipoTitular, e.tipoDocumento,
                 e.numeroDocumento, e.apellidoPaterno, e.apellidoMaterno, e.nombres,
@@ -308,8 +632,13 @@ public class FichaCatastralService {
         );
     }
 
-    private Construccion mapConstruccionToEntity(ConstruccionDTO dto) {
+    Construccion mapConstruccionToEntity(ConstruccionDTO dto) {
         var c = new Construccion();
+        updateConstruccionEntity(c, dto);
+        return c;
+    }
+
+    private void updateConstruccionEntity(Construccion c, ConstruccionDTO dto) {
         c.numeroPiso = dto.numeroPiso();
         c.nombrePiso = dto.nombrePiso();
         c.fechaConstruccion = dto.fechaConstruccion();
@@ -338,10 +667,9 @@ public class FichaCatastralService {
         c.tieneGarage = dto.tieneGarage();
         c.tieneTerraza = dto.tieneTerraza();
         c.tieneBalcon = dto.tieneBalcon();
-        return c;
     }
 
-    private ConstruccionDTO mapConstruccionToDTO(Construccion e) {
+    ConstruccionDTO mapConstruccionToDTO(Construccion e) {
         return new ConstruccionDTO(
                 e.id, e.ficha != null ? e.ficha.id : null, e.numeroPiso, e.nombrePiso,
                 e.fechaConstruccion, e.anioConstruccion, e.materialEstructural,
@@ -354,8 +682,13 @@ public class FichaCatastralService {
         );
     }
 
-    private Servicio mapServicioToEntity(ServicioDTO dto) {
+    Servicio mapServicioToEntity(ServicioDTO dto) {
         var s = new Servicio();
+        updateServicioEntity(s, dto);
+        return s;
+    }
+
+    private void updateServicioEntity(Servicio s, ServicioDTO dto) {
         s.tieneLuz = dto.tieneLuz();
         s.tipoLuz = dto.tipoLuz();
         s.tieneAgua = dto.tieneAgua();
@@ -375,10 +708,9 @@ public class FichaCatastralService {
         s.viaTrocha = dto.viaTrocha();
         s.tieneTransportePublico = dto.tieneTransportePublico();
         s.distanciaTransporteMetros = dto.distanciaTransporteMetros();
-        return s;
     }
 
-    private ServicioDTO mapServicioToDTO(Servicio e) {
+    ServicioDTO mapServicioToDTO(Servicio e) {
         return new ServicioDTO(
                 e.id, e.ficha != null ? e.ficha.id : null, e.tieneLuz, e.tipoLuz,
                 e.tieneAgua, e.tipoAgua, e.tieneDesague, e.tipoDesague, e.tieneGas,
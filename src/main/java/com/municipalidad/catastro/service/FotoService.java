@@ -1,6 +1,6 @@
 package com.municipalidad.catastro.service;
 
-import com.municipalidad.catastro.domain.Foto;
+import com.municipalidad.catastro.domain.lote.Foto;
 import com.municipalidad.catastro.dto.ApiResponse;
 import com.municipalidad.catastro.dto.FotoDTO;
 import com.municipalidad.catastro.repository.FotoRepository;
@@ -19,17 +19,18 @@ public class FotoService {
     @Inject
     LoteRepository loteRepository;
 
-    @Transactional
+    @Inject
+    LoteIdCache loteIdCache;
+
     public ApiResponse<FotoDTO> create(FotoDTO dto) {
-        return loteRepository.findByCodigoLote(dto.codigoLote())
-                .map(lote -> {
-                    var foto = mapToEntity(dto);
-                    foto.lote = lote;
-                    fotoRepository.persist(foto);
-                    lote.addFoto(foto);
-                    return ApiResponse.created("Foto registrada exitosamente", mapToDTO(foto));
-                })
-                .orElse(ApiResponse.error("Lote no encontrado con código: " + dto.codigoLote()));
+        return loteIdCache.conLote(dto.codigoLote(), loteId -> {
+            var foto = mapToEntity(dto);
+            foto.lote = loteRepository.getReference(loteId);
+            fotoRepository.persist(foto);
+            // Flush dentro de la transacción para que una FK rota llegue a conLote
+            fotoRepository.flush();
+            return ApiResponse.created("Foto registrada exitosamente", mapToDTO(foto));
+        });
     }
 
     public ApiResponse<FotoDTO> findById(Long id) {
@@ -112,7 +113,7 @@ public class FotoService {
 
      */
 
-    private Foto mapToEntity(FotoDTO dto) {
+    Foto mapToEntity(FotoDTO dto) {
         var f = new Foto();
         f.codigoLote = dto.codigoLote();
         f.servicio = dto.servicio() != null ? dto.servicio() : "S3";
@@ -125,7 +126,7 @@ public class FotoService {
         return f;
     }
 
-    private FotoDTO mapToDTO(Foto e) {
+    FotoDTO mapToDTO(Foto e) {
         return new FotoDTO(
                 e.id,
                 e.lote != null ? e.lote.id : null,
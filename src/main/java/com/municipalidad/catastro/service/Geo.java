@@ -0,0 +1,51 @@
+package com.municipalidad.catastro.service;
+
+// Utilidades geográficas sobre coordenadas WGS84 en grados
+public final class Geo {
+
+    public static final double RADIO_TIERRA_METROS = 6_371_008.8;
+
+    // Metros por grado de latitud (aproximación esférica)
+    public static final double METROS_POR_GRADO = Math.PI * RADIO_TIERRA_METROS / 180.0;
+
+    private Geo() {
+    }
+
+    // Distancia haversine en metros
+    public static double distanciaMetros(double lat1, double lon1, double lat2, double lon2) {
+        var dLat = Math.toRadians(lat2 - lat1);
+        var dLon = Math.toRadians(lon2 - lon1);
+        var a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RADIO_TIERRA_METROS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static double gradosLatitud(double metros) {
+        return metros / METROS_POR_GRADO;
+    }
+
+    public static double gradosLongitud(double metros, double latitud) {
+        var cos = Math.cos(Math.toRadians(latitud));
+        return cos < 1e-9 ? 180.0 : Math.min(180.0, metros / (METROS_POR_GRADO * cos));
+    }
+
+    // Coordenadas Web Mercator (EPSG:3857) en unidades de tile para el zoom indicado
+    public static double tileX(double longitud, int zoom) {
+        return (longitud + 180.0) / 360.0 * (1 << zoom);
+    }
+
+    public static double tileY(double latitud, int zoom) {
+        var rad = Math.toRadians(latitud);
+        return (1.0 - Math.log(Math.tan(rad) + 1.0 / Math.cos(rad)) / Math.PI) / 2.0 * (1 << zoom);
+    }
+
+    public static double tileLongitud(double x, int zoom) {
+        return x / (1 << zoom) * 360.0 - 180.0;
+    }
+
+    public static double tileLatitud(double y, int zoom) {
+        var n = Math.PI - 2.0 * Math.PI * y / (1 << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.municipalidad.catastro.service;
+
+import com.municipalidad.catastro.dto.ApiResponse;
+import com.municipalidad.catastro.repository.LoteRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// Cache en proceso codigoLote -> id de lote (límites en application.properties).
+// Cada instancia tiene su propio cache y solo se invalida en la instancia que escribe: un id puede
+// seguir cacheado después de que otra instancia borró el lote. Sirve para resolver referencias,
+// no para decidir si un código existe
+@ApplicationScoped
+public class LoteIdCache {
+
+    @Inject
+    @CacheName("lote-ids")
+    Cache cache;
+
+    @Inject
+    LoteRepository loteRepository;
+
+    public Optional<Long> findIdByCodigoLote(String codigoLote) {
+        var caffeine = cache.as(CaffeineCache.class);
+        CompletableFuture<Long> cached = caffeine.getIfPresent(codigoLote);
+        if (cached != null) {
+            return Optional.of(cached.join());
+        }
+
+        // Los códigos inexistentes no se guardan, así un lote recién creado se encuentra de inmediato
+        var id = loteRepository.findIdByCodigoLote(codigoLote);
+        id.ifPresent(value -> caffeine.put(codigoLote, CompletableFuture.completedFuture(value)));
+        return id;
+    }
+
+    public void invalidate(String codigoLote) {
+        cache.invalidate(codigoLote).await().indefinitely();
+    }
+
+    // Ejecuta en una transacción propia una escritura que referencia al lote por id. Si el id cacheado
+    // es de un lote borrado la FK falla: se descarta la entrada y se reintenta una vez con la base.
+    // Con una transacción ya activa (priming de SnapStart) escribe en ella, que ve lo que todavía no
+    // se commiteó y se revierte con el resto; ahí una FK rota no se reintenta
+    public <T> ApiResponse<T> conLote(String codigoLote, Function<Long, ApiResponse<T>> escritura) {
+        var loteId = findIdByCodigoLote(codigoLote);
+        if (loteId.isEmpty()) {
+            return ApiResponse.error("Lote no encontrado con código: " + codigoLote);
+        }
+        if (QuarkusTransaction.isActive()) {
+            return escritura.apply(loteId.get());
+        }
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> escritura.apply(loteId.get()));
+        } catch (RuntimeException e) {
+            if (!violaForeignKey(e)) {
+                throw e;
+            }
+            invalidate(codigoLote);
+            return loteRepository.findIdByCodigoLote(codigoLote)
+                    .map(id -> QuarkusTransaction.requiringNew().call(() -> escritura.apply(id)))
+                    .orElse(ApiResponse.error("Lote no encontrado con código: " + codigoLote));
+        }
+    }
+
+    private static boolean violaForeignKey(Throwable e) {
+        for (var causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql && "23503".equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,33 +1,65 @@
 package com.municipalidad.catastro.service;
 
-import com.municipalidad.catastro.domain.Lote;
+import com.municipalidad.catastro.domain.lote.Lote;
 import com.municipalidad.catastro.dto.ApiResponse;
+import com.municipalidad.catastro.dto.LoteCercanoDTO;
 import com.municipalidad.catastro.dto.LoteDTO;
+import com.municipalidad.catastro.dto.PageCursor;
+import com.municipalidad.catastro.repository.EstimacionRepository;
 import com.municipalidad.catastro.repository.LoteRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
+import static com.municipalidad.catastro.domain.estadistica.EstadisticaCatastral.ESTIMACIONES_TIPO_TERRENO;
+
 @ApplicationScoped
 public class LoteService {
 
+    private static final double MAX_RADIO_METROS = 5000;
+
+    // Límite de lotes por consulta espacial
+    private static final int MAX_RESULTADOS_ESPACIALES = 5000;
+
     @Inject
     LoteRepository loteRepository;
 
+    @Inject
+    EstimacionRepository estimacionRepository;
+
+    @Inject
+    LoteIdCache loteIdCache;
+
+    @Inject
+    EstadisticaService estadisticaService;
+
+    @Inject
+    LoteTileService loteTileService;
+
     @Transactional
     public ApiResponse<LoteDTO> create(LoteDTO dto) {
+        // Contra la base: el cache de ids puede tener lotes que otra instancia ya borró
         if (loteRepository.existsByCodigoLote(dto.codigoLote())) {
             return ApiResponse.error("Ya existe un lote con código: " + dto.codigoLote());
         }
 
         var lote = mapToEntity(dto);
         loteRepository.persist(lote);
+        estadisticaService.aplicar(new EstadisticaDelta().lote(lote.codigoSector, lote.codigoManzana, 1));
+        loteTileService.invalidarPosicion(lote.latitud, lote.longitud);
         return ApiResponse.created("Lote creado exitosamente", mapToDTO(lote));
     }
 
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return loteRepository.findFechaModificacion(id);
+    }
+
     public ApiResponse<LoteDTO> findById(Long id) {
         return loteRepository.findByIdOptional(id)
                 .map(this::mapToDTO)
@@ -46,7 +78,23 @@ public class LoteService {
     public ApiResponse<LoteDTO> update(Long id, LoteDTO dto) {
         return loteRepository.findByIdOptional(id)
                 .map(lote -> {
+                    var sectorAnterior = lote.codigoSector;
+                    var manzanaAnterior = lote.codigoManzana;
+                    var latitudAnterior = lote.latitud;
+                    var longitudAnterior = lote.longitud;
                     updateEntity(lote, dto);
+
+                    // Invalidar las tiles de la posición anterior y de la nueva si el lote se movió
+                    if (!sameValue(latitudAnterior, lote.latitud) || !sameValue(longitudAnterior, lote.longitud)) {
+                        loteTileService.invalidarPosicion(latitudAnterior, longitudAnterior);
+                        loteTileService.invalidarPosicion(lote.latitud, lote.longitud);
+                    }
+
+                    // Mover los contadores si el lote cambió de sector o manzana
+                    if (!sectorAnterior.equals(lote.codigoSector) || !manzanaAnterior.equals(lote.codigoManzana)) {
+                        registrarLote(lote.id, sectorAnterior, manzanaAnterior, -1);
+                        registrarLote(lote.id, lote.codigoSector, lote.codigoManzana, 1);
+                    }
                     return ApiResponse.success("Lote actualizado exitosamente", mapToDTO(lote));
                 })
                 .orElse(ApiResponse.notFound("Lote no encontrado con ID: " + id));
@@ -54,12 +102,25 @@ public class LoteService {
 
     @Transactional
     public ApiResponse<Void> delete(Long id) {
-        return Optional.of(loteRepository.deleteById(id))
-                .filter(deleted -> deleted)
-                .map(deleted -> ApiResponse.<Void>success("Lote eliminado exitosamente", null))
+        return loteRepository.findByIdOptional(id)
+                .map(lote -> {
+                    registrarLote(lote.id, lote.codigoSector, lote.codigoManzana, -1);
+                    loteRepository.delete(lote);
+                    loteIdCache.invalidate(lote.codigoLote);
+                    loteTileService.invalidarPosicion(lote.latitud, lote.longitud);
+                    return ApiResponse.<Void>success("Lote eliminado exitosamente", null);
+                })
                 .orElse(ApiResponse.notFound("Lote no encontrado con ID: " + id));
     }
 
+    // Resta (signo -1) o suma (+1) el lote y sus estimaciones en la manzana indicada
+    private void registrarLote(Long loteId, String codigoSector, String codigoManzana, int signo) {
+        var delta = new EstadisticaDelta().lote(codigoSector, codigoManzana, signo);
+        estimacionRepository.countByTipoTerrenoForLote(loteId).forEach((tipo, total) ->
+                delta.add(codigoSector, codigoManzana, ESTIMACIONES_TIPO_TERRENO, tipo, signo * total));
+        estadisticaService.aplicar(delta);
+    }
+
     public ApiResponse<List<LoteDTO>> findBySector(String codigoSector) {
         var lotes = loteRepository.findBySector(codigoSector).stream()
                 .map(this::mapToDTO)
@@ -81,6 +142,44 @@ public class LoteService {
         return ApiResponse.success(lotes);
     }
 
+    public ApiResponse<List<LoteDTO>> findAfter(String cursor, int size) {
+        return PageCursor.page(cursor, size, loteRepository::findAfter,
+                lote -> new PageCursor(lote.fechaCreacion, lote.id),
+                lotes -> lotes.stream().map(this::mapToDTO).toList());
+    }
+
+    public ApiResponse<List<LoteCercanoDTO>> findNear(double latitud, double longitud, double radioMetros) {
+        if (radioMetros <= 0 || radioMetros > MAX_RADIO_METROS) {
+            return ApiResponse.error("El radio debe estar entre 0 y " + (int) MAX_RADIO_METROS + " metros");
+        }
+
+        // Prefiltro por rectángulo en el índice, ya ordenado por cercanía, y distancia exacta en memoria
+        var dLat = Geo.gradosLatitud(radioMetros);
+        var dLon = Geo.gradosLongitud(radioMetros, latitud);
+        var cercanos = loteRepository.findNearest(latitud, longitud, dLat, dLon, MAX_RESULTADOS_ESPACIALES)
+                .stream()
+                .map(lote -> mapToCercanoDTO(lote, Geo.distanciaMetros(latitud, longitud,
+                        lote.latitud.doubleValue(), lote.longitud.doubleValue())))
+                .filter(dto -> dto.distanciaMetros() <= radioMetros)
+                .sorted(Comparator.comparingDouble(LoteCercanoDTO::distanciaMetros))
+                .toList();
+        return ApiResponse.success(cercanos);
+    }
+
+    public ApiResponse<List<LoteDTO>> findInBoundingBox(double minLat, double minLon, double maxLat, double maxLon) {
+        if (minLat > maxLat || minLon > maxLon) {
+            return ApiResponse.error("El rectángulo es inválido: los mínimos deben ser menores que los máximos");
+        }
+
+        // Un registro extra para detectar el recorte: un resultado parcial no se devuelve como si fuera completo
+        var lotes = loteRepository.findInBoundingBox(minLat, minLon, maxLat, maxLon, MAX_RESULTADOS_ESPACIALES + 1);
+        if (lotes.size() > MAX_RESULTADOS_ESPACIALES) {
+            return ApiResponse.error("El rectángulo contiene más de " + MAX_RESULTADOS_ESPACIALES +
+                    " lotes; reducir el área");
+        }
+        return ApiResponse.success(lotes.stream().map(this::mapToDTO).toList());
+    }
+
     public ApiResponse<Long> countBySector(String codigoSector) {
         var count = loteRepository.countBySector(codigoSector);
         return ApiResponse.success(count);
@@ -91,7 +190,7 @@ public class LoteService {
         return ApiResponse.success(count);
     }
 
-    private Lote mapToEntity(LoteDTO dto) {
+    Lote mapToEntity(LoteDTO dto) {
         var lote = new Lote();
         lote.codigoSector = dto.codigoSector();
         lote.codigoManzana = dto.codigoManzana();
@@ -102,7 +201,7 @@ public class LoteService {
         return lote;
     }
 
-    private LoteDTO mapToDTO(Lote entity) {
+    LoteDTO mapToDTO(Lote entity) {
         return new LoteDTO(
                 entity.id,
                 entity.codigoSector,
@@ -116,6 +215,23 @@ public class LoteService {
         );
     }
 
+    private LoteCercanoDTO mapToCercanoDTO(Lote entity, double distanciaMetros) {
+        return new LoteCercanoDTO(
+                entity.id,
+                entity.codigoSector,
+                entity.codigoManzana,
+                entity.codigoLote,
+                entity.latitud,
+                entity.longitud,
+                entity.precisionMetros,
+                distanciaMetros
+        );
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
     private void updateEntity(Lote entity, LoteDTO dto) {
         entity.codigoSector = dto.codigoSector();
         entity.codigoManzana = dto.codigoManzana();
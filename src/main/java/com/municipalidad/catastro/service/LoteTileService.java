@@ -0,0 +1,87 @@
+package com.municipalidad.catastro.service;
+
+import com.municipalidad.catastro.repository.LoteRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Tiles vectoriales (MVT) de lotes; en zooms bajos se devuelven agrupados con su conteo.
+// Cada instancia tiene su propio cache (límites en application.properties) y invalidarPosicion solo
+// llega a la instancia que escribe: en las demás una tile puede quedar vieja hasta que vence, igual
+// que la copia que el cliente guarda por el max-age del endpoint
+@ApplicationScoped
+public class LoteTileService {
+
+    public static final int MAX_ZOOM = 22;
+
+    // Hasta este zoom (inclusive) los lotes se agrupan por celdas
+    private static final int CLUSTER_MAX_ZOOM = 15;
+
+    // Celdas por lado de la tile al agrupar
+    private static final int CLUSTER_CELDAS = 64;
+
+    private static final int MAX_PUNTOS_TILE = 10000;
+
+    public record TileKey(int z, int x, int y) {}
+
+    @Inject
+    @CacheName("lote-tiles")
+    Cache cache;
+
+    @Inject
+    LoteRepository loteRepository;
+
+    public byte[] tile(int z, int x, int y) {
+        return cache.get(new TileKey(z, x, y), key -> render(z, x, y)).await().indefinitely();
+    }
+
+    // Invalida, en cada zoom, la tile que contiene la posición indicada
+    public void invalidarPosicion(BigDecimal latitud, BigDecimal longitud) {
+        if (latitud == null || longitud == null) {
+            return;
+        }
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            var x = (int) Math.floor(Geo.tileX(longitud.doubleValue(), z));
+            var y = (int) Math.floor(Geo.tileY(latitud.doubleValue(), z));
+            cache.invalidate(new TileKey(z, x, y)).await().indefinitely();
+        }
+    }
+
+    private byte[] render(int z, int x, int y) {
+        var minLon = Geo.tileLongitud(x, z);
+        var maxLon = Geo.tileLongitud(x + 1, z);
+        var minLat = Geo.tileLatitud(y + 1, z);
+        var maxLat = Geo.tileLatitud(y, z);
+
+        var encoder = new VectorTileEncoder("lotes");
+        if (z <= CLUSTER_MAX_ZOOM) {
+            var celdaLat = (maxLat - minLat) / CLUSTER_CELDAS;
+            var celdaLon = (maxLon - minLon) / CLUSTER_CELDAS;
+            for (var row : loteRepository.clusterInBoundingBox(minLat, minLon, maxLat, maxLon, celdaLat, celdaLon)) {
+                var count = ((Number) row[0]).longValue();
+                var lat = ((Number) row[1]).doubleValue();
+                var lon = ((Number) row[2]).doubleValue();
+                encoder.addPoint(null, pixelX(lon, z, x), pixelY(lat, z, y), Map.of("count", count));
+            }
+        } else {
+            for (var row : loteRepository.findPuntosInBoundingBox(minLat, minLon, maxLat, maxLon, MAX_PUNTOS_TILE)) {
+                var id = ((Number) row[0]).longValue();
+                var lat = ((Number) row[2]).doubleValue();
+                var lon = ((Number) row[3]).doubleValue();
+                encoder.addPoint(id, pixelX(lon, z, x), pixelY(lat, z, y), Map.of("codigoLote", row[1]));
+            }
+        }
+        return encoder.encode();
+    }
+
+    private static int pixelX(double longitud, int z, int x) {
+        return (int) Math.round((Geo.tileX(longitud, z) - x) * VectorTileEncoder.EXTENT);
+    }
+
+    private static int pixelY(double latitud, int z, int y) {
+        return (int) Math.round((Geo.tileY(latitud, z) - y) * VectorTileEncoder.EXTENT);
+    }
+}
@@ -0,0 +1,105 @@
+package com.municipalidad.catastro.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Codificador mínimo de Mapbox Vector Tiles (especificación 2.1) para una capa de puntos.
+// Escribe el protobuf a mano para no agregar dependencias.
+public class VectorTileEncoder {
+
+    public static final int EXTENT = 4096;
+
+    private static final int GEOM_POINT = 1;
+    private static final int CMD_MOVE_TO = 1;
+
+    private final String layerName;
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+    private final Map<Object, Integer> values = new LinkedHashMap<>();
+    private final ByteArrayOutputStream features = new ByteArrayOutputStream();
+
+    public VectorTileEncoder(String layerName) {
+        this.layerName = layerName;
+    }
+
+    // x, y en coordenadas de la tile [0, EXTENT); properties con valores String o Long
+    public void addPoint(Long id, int x, int y, Map<String, Object> properties) {
+        var tags = new ArrayList<Integer>(properties.size() * 2);
+        properties.forEach((key, value) -> {
+            tags.add(keys.computeIfAbsent(key, k -> keys.size()));
+            tags.add(values.computeIfAbsent(value, v -> values.size()));
+        });
+
+        var feature = new ByteArrayOutputStream();
+        if (id != null) {
+            writeTag(feature, 1, 0);
+            writeVarint(feature, id);
+        }
+        if (!tags.isEmpty()) {
+            writePacked(feature, 2, tags);
+        }
+        writeTag(feature, 3, 0);
+        writeVarint(feature, GEOM_POINT);
+        writePacked(feature, 4, List.of((1 << 3) | CMD_MOVE_TO, zigzag(x), zigzag(y)));
+
+        writeBytes(features, 2, feature.toByteArray());
+    }
+
+    public byte[] encode() {
+        var layer = new ByteArrayOutputStream();
+        writeTag(layer, 15, 0);
+        writeVarint(layer, 2);
+        writeBytes(layer, 1, layerName.getBytes(StandardCharsets.UTF_8));
+        layer.writeBytes(features.toByteArray());
+        keys.keySet().forEach(key -> writeBytes(layer, 3, key.getBytes(StandardCharsets.UTF_8)));
+        values.keySet().forEach(value -> writeBytes(layer, 4, encodeValue(value)));
+        writeTag(layer, 5, 0);
+        writeVarint(layer, EXTENT);
+
+        var tile = new ByteArrayOutputStream();
+        writeBytes(tile, 3, layer.toByteArray());
+        return tile.toByteArray();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        var out = new ByteArrayOutputStream();
+        if (value instanceof Long number) {
+            writeTag(out, 4, 0);
+            writeVarint(out, number);
+        } else {
+            writeBytes(out, 1, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, 2);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writePacked(ByteArrayOutputStream out, int field, List<Integer> ints) {
+        var packed = new ByteArrayOutputStream();
+        ints.forEach(i -> writeVarint(packed, Integer.toUnsignedLong(i)));
+        writeBytes(out, field, packed.toByteArray());
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -131,12 +131,53 @@ CREATE TABLE IF NOT EXISTS servicio (
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Tabla Estadística (contadores pre-agregados por sector y manzana)
+CREATE TABLE IF NOT EXISTS estadistica_catastral (
+    id BIGSERIAL PRIMARY KEY,
+    codigo_sector VARCHAR(2) NOT NULL,
+    codigo_manzana VARCHAR(3) NOT NULL,
+    indicador VARCHAR(30) NOT NULL,
+    valor VARCHAR(50) NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    fecha_modificacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_estadistica_clave UNIQUE (codigo_sector, codigo_manzana, indicador, valor)
+);
+
+-- Secuencias de Hibernate (optimizador pooled, allocationSize = 50) para que
+-- los INSERT se agrupen en lotes JDBC; las columnas SERIAL no permiten batching
+CREATE SEQUENCE IF NOT EXISTS lote_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS estimacion_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS foto_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS fichacatastral_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS titular_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS construccion_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS servicio_seq START WITH 1 INCREMENT BY 50;
+
+-- Búsqueda de titulares por nombre (sin tildes, sin mayúsculas, por subcadena)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION normalizar_busqueda(texto TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, coalesce(texto, ''))) $$;
+
+CREATE OR REPLACE FUNCTION titular_nombre_busqueda(
+    apellido_paterno TEXT, apellido_materno TEXT, nombres TEXT, razon_social TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$ SELECT normalizar_busqueda(concat_ws(' ', apellido_paterno, apellido_materno, nombres, razon_social)) $$;
+
 -- Índices para optimización
 CREATE INDEX idx_lote_codigo ON lote(codigo_lote);
+CREATE INDEX idx_lote_creacion ON lote(fecha_creacion, id);
+-- R-tree (GiST) de puntos para las consultas por rectángulo y cercanía de LoteRepository
+CREATE INDEX idx_lote_punto ON lote USING gist (point(CAST(longitud AS float8), CAST(latitud AS float8)));
 CREATE INDEX idx_estimacion_lote ON estimacion(lote_id);
 CREATE INDEX idx_estimacion_codigo ON estimacion(codigo_lote);
 CREATE INDEX idx_foto_lote ON foto(lote_id);
 CREATE INDEX idx_ficha_codigo ON ficha_catastral(codigo_lote);
+CREATE INDEX idx_ficha_creacion ON ficha_catastral(fecha_creacion, id);
 CREATE INDEX idx_titular_ficha ON titular(ficha_id);
+CREATE INDEX idx_titular_nombre_trgm ON titular
+    USING gin (titular_nombre_busqueda(apellido_paterno, apellido_materno, nombres, razon_social) gin_trgm_ops);
 CREATE INDEX idx_construccion_ficha ON construccion(ficha_id);
 CREATE INDEX idx_servicio_ficha ON servicio(ficha_id);
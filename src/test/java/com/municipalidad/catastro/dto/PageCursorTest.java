@@ -0,0 +1,107 @@
+package com.municipalidad.catastro.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class PageCursorTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_456_000);
+
+    @Test
+    void codificaYDecodifica() {
+        var cursor = new PageCursor(FECHA, 987_654_321L);
+        var token = cursor.encode();
+
+        assertEquals(cursor, PageCursor.decode(token));
+        // URL-safe y sin relleno: se usa tal cual en ?cursor=
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void cursorVacioEsLaPrimeraPagina() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+        assertNull(PageCursor.decode("  "));
+    }
+
+    @Test
+    void cursorInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("no es base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(base64("2024-03-15T10:30")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(base64("ayer|1")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(base64("2024-03-15T10:30|uno")));
+    }
+
+    @Test
+    void paginaPideUnRegistroExtraYArmaElSiguienteCursor() {
+        var pedidos = new ArrayList<Object[]>();
+        var response = PageCursor.page(null, 3, (after, limit) -> {
+            pedidos.add(new Object[]{after, limit});
+            return filas(1, limit);
+        }, PageCursorTest::clave, Function.identity());
+
+        assertTrue(response.success());
+        assertNull(pedidos.get(0)[0]);
+        assertEquals(4, pedidos.get(0)[1]);
+        assertEquals(List.of(1L, 2L, 3L), response.data());
+        assertEquals(clave(3L), PageCursor.decode(response.nextCursor()));
+    }
+
+    @Test
+    void ultimaPaginaSinSiguienteCursor() {
+        var siguiente = new PageCursor(FECHA, 10L).encode();
+        var response = PageCursor.page(siguiente, 5, (after, limit) -> {
+            assertEquals(new PageCursor(FECHA, 10L), after);
+            return filas(11, 2);
+        }, PageCursorTest::clave, filas -> filas.size());
+
+        assertEquals(2, response.data());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void tamanoOCursorInvalidosSonError() {
+        for (var size : List.of(0, PageCursor.MAX_SIZE + 1, Integer.MAX_VALUE)) {
+            var response = PageCursor.page(null, size, (after, limit) -> {
+                throw new AssertionError("No debe consultar");
+            }, PageCursorTest::clave, Function.identity());
+            assertFalse(response.success(), "size " + size);
+        }
+
+        var response = PageCursor.page(null, PageCursor.MAX_SIZE, (after, limit) -> {
+            assertEquals(PageCursor.MAX_SIZE + 1, limit);
+            return filas(1, 3);
+        }, PageCursorTest::clave, Function.identity());
+        assertTrue(response.success());
+
+        response = PageCursor.page("%%%", 10, (after, limit) -> {
+            throw new AssertionError("No debe consultar");
+        }, PageCursorTest::clave, Function.identity());
+        assertFalse(response.success());
+        assertTrue(response.error().startsWith("Cursor inválido"));
+    }
+
+    private static List<Long> filas(long desde, int cantidad) {
+        return LongStream.range(desde, desde + cantidad).boxed().toList();
+    }
+
+    private static PageCursor clave(Long id) {
+        return new PageCursor(FECHA.plusSeconds(id), id);
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package com.municipalidad.catastro.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatementCounterTest {
+
+    @Test
+    void literalesNumericosYDeTexto() {
+        assertEquals("select * from lote where id=? and codigo_lote=?",
+                SqlStatementCounter.forma("select * from lote where id=42 and codigo_lote='01001001'"));
+        assertEquals("select ? from lote where latitud > ?",
+                SqlStatementCounter.forma("select 1 from lote where latitud > 12.0464"));
+    }
+
+    @Test
+    void comillaEscapadaDentroDelLiteral() {
+        assertEquals("select * from titular where nombres=? and id=?",
+                SqlStatementCounter.forma("select * from titular where nombres='O''Brien' and id=7"));
+    }
+
+    @Test
+    void aliasConDigitosNoSeTocan() {
+        // Hibernate genera alias como t1_0 y f1_0: solo los números sueltos son literales
+        assertEquals("select t1_0.id,f1_0.codigo_lote from titular t1_0 join ficha_catastral f1_0 on f1_0.id=t1_0.ficha_id",
+                SqlStatementCounter.forma("select t1_0.id,f1_0.codigo_lote from titular t1_0 "
+                        + "join ficha_catastral f1_0 on f1_0.id=t1_0.ficha_id"));
+    }
+
+    @Test
+    void listasInDeDistintoLargoTienenLaMismaForma() {
+        var dos = SqlStatementCounter.forma("select * from titular where ficha_id in (?,?)");
+        var cinco = SqlStatementCounter.forma("select * from titular where ficha_id in ( ?, ?, ?,?, ? )");
+        var literales = SqlStatementCounter.forma("select * from titular where ficha_id in (1, 2, 3)");
+
+        assertEquals("select * from titular where ficha_id in (?)", dos);
+        assertEquals(dos, cinco);
+        assertEquals(dos, literales);
+    }
+
+    @Test
+    void espaciosColapsados() {
+        assertEquals("select * from lote where id=?",
+                SqlStatementCounter.forma("  select *\n\tfrom   lote\n where id=?  "));
+    }
+}
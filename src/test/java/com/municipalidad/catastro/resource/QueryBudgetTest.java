@@ -0,0 +1,312 @@
+package com.municipalidad.catastro.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+// Presupuesto de consultas SQL por ruta de LoteResource, EstimacionResource y FichaCatastralResource.
+// Siembra dos volúmenes (1 y VOLUMEN lotes/fichas/estimaciones, en sectores distintos), recorre cada
+// ruta en ambos y lee los headers X-SQL-* del contador por request. Falla si una ruta supera sus
+// sentencias o entidades declaradas, o si una lectura ejecuta más sentencias con el volumen grande
+// que con el pequeño: eso es un N+1.
+//
+// La base es la del perfil test (application.properties); la tabla medida se imprime siempre, para
+// ajustar PRESUPUESTOS tras un cambio intencional.
+@QuarkusTest
+class QueryBudgetTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int VOLUMEN = 40;
+    private static final Map<Integer, String> SECTORES = Map.of(1, "97", VOLUMEN, "98");
+
+    // Sentencias máximas (fijas + por unidad de volumen) y entidades cargadas máximas.
+    // constante: lectura cuyo número de sentencias no puede crecer con el volumen
+    record Presupuesto(int sentencias, double sentenciasPorUnidad, int entidades, int entidadesPorUnidad,
+                       boolean constante) {
+
+        static Presupuesto lectura(int sentencias, int entidades, int entidadesPorUnidad) {
+            return new Presupuesto(sentencias, 0, entidades, entidadesPorUnidad, true);
+        }
+
+        static Presupuesto escritura(int sentencias, double sentenciasPorUnidad, int entidades) {
+            return new Presupuesto(sentencias, sentenciasPorUnidad, entidades, 0, false);
+        }
+
+        int maxSentencias(int volumen) {
+            return sentencias + (int) Math.ceil(sentenciasPorUnidad * volumen);
+        }
+
+        int maxEntidades(int volumen) {
+            return entidades + entidadesPorUnidad * volumen;
+        }
+    }
+
+    // Calibrado con una corrida real (volúmenes 1 y 40). Una ficha trae 2 titulares, 2 construcciones
+    // y 1 servicio: 6 entidades por ficha. Las escrituras que insertan suman un nextval por tabla, el
+    // del request que agota el pool de 50 ids de su secuencia: lote 1, estimación 1, ficha 4
+    private static final Map<String, Presupuesto> PRESUPUESTOS = new LinkedHashMap<>();
+
+    static {
+        PRESUPUESTOS.put("POST /api/lotes", Presupuesto.escritura(3 + 1, 0, 0));
+        PRESUPUESTOS.put("GET /api/lotes?sector", Presupuesto.lectura(1, 0, 1));
+        PRESUPUESTOS.put("GET /api/lotes?sector&manzana", Presupuesto.lectura(1, 0, 1));
+        // Pide size + 1 filas para saber si hay otra página
+        PRESUPUESTOS.put("GET /api/lotes?cursor", Presupuesto.lectura(1, 1, 1));
+        PRESUPUESTOS.put("GET /api/lotes/near", Presupuesto.lectura(1, 0, 1));
+        PRESUPUESTOS.put("GET /api/lotes/bbox", Presupuesto.lectura(1, 0, 1));
+        PRESUPUESTOS.put("GET /api/lotes/{id}", Presupuesto.lectura(2, 1, 0));
+        PRESUPUESTOS.put("PUT /api/lotes/{id}", Presupuesto.escritura(2, 0, 1));
+
+        PRESUPUESTOS.put("POST /api/estimaciones", Presupuesto.escritura(3 + 1, 0, 0));
+        PRESUPUESTOS.put("GET /api/estimaciones/{id}", Presupuesto.lectura(2, 1, 0));
+        PRESUPUESTOS.put("GET /api/estimaciones/lote/{loteId}", Presupuesto.lectura(1, 0, 1));
+        PRESUPUESTOS.put("PUT /api/estimaciones/{id}", Presupuesto.escritura(5, 0, 1));
+        PRESUPUESTOS.put("DELETE /api/estimaciones/{id}", Presupuesto.escritura(3, 0, 1));
+
+        // Inserts en batch: un nextval más por cada 50 ids de cada tabla (6 ids por ficha)
+        PRESUPUESTOS.put("POST /api/fichas/bulk", Presupuesto.escritura(9 + 4, 0.12, 0));
+        PRESUPUESTOS.put("POST /api/fichas", Presupuesto.escritura(10 + 4, 0, 0));
+        PRESUPUESTOS.put("GET /api/fichas/lote/{codigoLote}", Presupuesto.lectura(4, 0, 6));
+        PRESUPUESTOS.put("GET /api/fichas?sector", Presupuesto.lectura(4, 0, 6));
+        PRESUPUESTOS.put("GET /api/fichas?view=summary&sector", Presupuesto.lectura(1, 0, 0));
+        PRESUPUESTOS.put("GET /api/fichas/{id}", Presupuesto.lectura(1, 0, 0));
+        PRESUPUESTOS.put("GET /api/fichas/titulares", Presupuesto.lectura(1, 0, 0));
+        PRESUPUESTOS.put("PUT /api/fichas/{id}", Presupuesto.escritura(5, 0, 6));
+        PRESUPUESTOS.put("DELETE /api/fichas/{id}", Presupuesto.escritura(10, 0, 6));
+        PRESUPUESTOS.put("DELETE /api/lotes/{id}", Presupuesto.escritura(6, 0, 1));
+    }
+
+    record Medicion(int status, int sentencias, int entidades) {}
+
+    private final String sufijo = String.format("%05d", ThreadLocalRandom.current().nextInt(100_000));
+    private final Map<String, Map<Integer, Medicion>> mediciones = new LinkedHashMap<>();
+    private final List<Long> fichasSembradas = new ArrayList<>();
+    private final List<Long> lotesSembrados = new ArrayList<>();
+
+    @Test
+    void rutasDentroDelPresupuesto() throws JsonProcessingException {
+        var volumenes = List.of(1, VOLUMEN);
+        try {
+            for (var volumen : volumenes) {
+                recorrer(SECTORES.get(volumen), volumen);
+            }
+        } finally {
+            limpiar();
+        }
+        var fallas = evaluar(volumenes);
+        assertEquals(List.of(), fallas, "Rutas fuera de presupuesto");
+    }
+
+    // ==================== Recorrido ====================
+
+    private void recorrer(String sector, int volumen) throws JsonProcessingException {
+        var vacio = invocar(null, volumen, "GET", "/api/lotes", "sector=" + sector, null);
+        if (vacio == null || vacio.path("data").size() > 0) {
+            throw new IllegalStateException("El sector " + sector + " ya tiene lotes en la base de prueba");
+        }
+
+        var manzana = "9" + sector;
+        // Un punto por sector, a más de 1 km entre sectores, para que near y bbox solo vean los lotes propios
+        double latitud = -12.0 - Integer.parseInt(sector) * 0.01;
+        double longitud = -77.0 - Integer.parseInt(sector) * 0.01;
+
+        // Volumen: lotes en la manzana, estimaciones y fichas del primer lote
+        var codigos = new ArrayList<String>();
+        var loteIds = new ArrayList<Long>();
+        for (int i = 0; i < volumen; i++) {
+            var codigo = codigo(sector, i);
+            var lote = invocar(i == 0 ? "POST /api/lotes" : null, volumen, "POST", "/api/lotes", "",
+                    lote(sector, manzana, codigo, latitud + (i % 10) * 0.0001, longitud + (i / 10) * 0.0001));
+            codigos.add(codigo);
+            loteIds.add(id(lote));
+        }
+        lotesSembrados.addAll(loteIds);
+        var primero = codigos.get(0);
+        var estimacionIds = new ArrayList<Long>();
+        for (int i = 0; i < volumen; i++) {
+            var estimacion = invocar(i == 0 ? "POST /api/estimaciones" : null, volumen, "POST", "/api/estimaciones", "",
+                    estimacion(primero, "Edificio"));
+            estimacionIds.add(id(estimacion));
+        }
+
+        var fichas = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < volumen; i++) {
+            fichas.add(ficha(primero, sector, manzana, String.format("%03d", i + 1)));
+        }
+        var bulk = invocar("POST /api/fichas/bulk", volumen, "POST", "/api/fichas/bulk", "", fichas.toString());
+        var sembradas = fichasSembradas.size();
+        if (bulk != null && bulk.path("data").isArray()) {
+            bulk.get("data").forEach(fila -> {
+                if (fila.path("success").asBoolean()) {
+                    fichasSembradas.add(fila.get("id").asLong());
+                }
+            });
+        }
+        if (fichasSembradas.size() == sembradas) {
+            throw new IllegalStateException("La importación de fichas no creó ninguna: " + bulk);
+        }
+        long fichaId = fichasSembradas.get(fichasSembradas.size() - 1);
+
+        // Lecturas
+        invocar("GET /api/lotes?sector", volumen, "GET", "/api/lotes", "sector=" + sector, null);
+        invocar("GET /api/lotes?sector&manzana", volumen, "GET", "/api/lotes",
+                "sector=" + sector + "&manzana=" + manzana, null);
+        invocar("GET /api/lotes?cursor", volumen, "GET", "/api/lotes", "cursor=&size=" + volumen, null);
+        invocar("GET /api/lotes/near", volumen, "GET", "/api/lotes/near",
+                "lat=" + latitud + "&lon=" + longitud + "&radio=300", null);
+        invocar("GET /api/lotes/bbox", volumen, "GET", "/api/lotes/bbox",
+                "minLat=" + (latitud - 0.0005) + "&minLon=" + (longitud - 0.0005) +
+                "&maxLat=" + (latitud + 0.0015) + "&maxLon=" + (longitud + 0.0015), null);
+        invocar("GET /api/lotes/{id}", volumen, "GET", "/api/lotes/" + loteIds.get(0), "", null);
+        invocar("GET /api/estimaciones/{id}", volumen, "GET", "/api/estimaciones/" + estimacionIds.get(0), "", null);
+        invocar("GET /api/estimaciones/lote/{loteId}", volumen, "GET", "/api/estimaciones/lote/" + loteIds.get(0), "", null);
+        invocar("GET /api/fichas/lote/{codigoLote}", volumen, "GET", "/api/fichas/lote/" + primero, "", null);
+        invocar("GET /api/fichas?sector", volumen, "GET", "/api/fichas", "sector=" + sector, null);
+        invocar("GET /api/fichas?view=summary&sector", volumen, "GET", "/api/fichas", "view=summary&sector=" + sector, null);
+        invocar("GET /api/fichas/{id}", volumen, "GET", "/api/fichas/" + fichaId, "", null);
+        invocar("GET /api/fichas/titulares", volumen, "GET", "/api/fichas/titulares", "q=Presupuesto" + sufijo, null);
+
+        // Escrituras sobre datos propios: las del lote y la ficha nuevos no dependen del volumen
+        invocar("PUT /api/lotes/{id}", volumen, "PUT", "/api/lotes/" + loteIds.get(0), "",
+                lote(sector, manzana, primero, latitud + 0.00005, longitud));
+        invocar("PUT /api/estimaciones/{id}", volumen, "PUT", "/api/estimaciones/" + estimacionIds.get(0), "",
+                estimacion(primero, "Casa"));
+        invocar("DELETE /api/estimaciones/{id}", volumen, "DELETE", "/api/estimaciones/" + estimacionIds.get(0), "", null);
+
+        var codigoNuevo = codigo(sector, volumen);
+        var loteNuevo = id(invocar(null, volumen, "POST", "/api/lotes", "",
+                lote(sector, manzana, codigoNuevo, latitud, longitud)));
+        var ficha = invocar("POST /api/fichas", volumen, "POST", "/api/fichas", "",
+                ficha(codigoNuevo, sector, manzana, "001"));
+        var nueva = id(ficha);
+        invocar("PUT /api/fichas/{id}", volumen, "PUT", "/api/fichas/" + nueva, "",
+                ficha != null ? MAPPER.writeValueAsString(ficha.get("data")) : ficha(codigoNuevo, sector, manzana, "001"));
+        invocar("DELETE /api/fichas/{id}", volumen, "DELETE", "/api/fichas/" + nueva, "", null);
+        invocar("DELETE /api/lotes/{id}", volumen, "DELETE", "/api/lotes/" + loteNuevo, "", null);
+    }
+
+    private List<String> evaluar(List<Integer> volumenes) {
+        var tabla = new StringBuilder(String.format("%n%-38s %4s %9s %9s %9s %9s  %s%n",
+                "Ruta", "vol", "sent", "máx", "entid", "máx", ""));
+        var fallas = new ArrayList<String>();
+        for (var entrada : PRESUPUESTOS.entrySet()) {
+            var ruta = entrada.getKey();
+            var presupuesto = entrada.getValue();
+            var porVolumen = mediciones.getOrDefault(ruta, Map.of());
+            for (var volumen : volumenes) {
+                var medicion = porVolumen.get(volumen);
+                var problemas = new ArrayList<String>();
+                if (medicion == null) {
+                    problemas.add("sin medición");
+                } else {
+                    if (medicion.status() >= 400) {
+                        problemas.add("HTTP " + medicion.status());
+                    }
+                    if (medicion.sentencias() < 0) {
+                        problemas.add("sin headers X-SQL-*");
+                    }
+                    if (medicion.sentencias() > presupuesto.maxSentencias(volumen)) {
+                        problemas.add("sentencias");
+                    }
+                    if (medicion.entidades() > presupuesto.maxEntidades(volumen)) {
+                        problemas.add("entidades");
+                    }
+                    var base = porVolumen.get(volumenes.get(0));
+                    if (presupuesto.constante() && base != null && medicion.sentencias() > base.sentencias()) {
+                        problemas.add("crece con el volumen (N+1)");
+                    }
+                }
+                problemas.forEach(p -> fallas.add(ruta + " (volumen " + volumen + "): " + p));
+                tabla.append(String.format("%-38s %4d %9s %9d %9s %9d  %s%n", ruta, volumen,
+                        medicion != null ? medicion.sentencias() : "-", presupuesto.maxSentencias(volumen),
+                        medicion != null ? medicion.entidades() : "-", presupuesto.maxEntidades(volumen),
+                        String.join(", ", problemas)));
+            }
+        }
+        System.out.println(tabla);
+        return fallas;
+    }
+
+    private void limpiar() {
+        for (var id : fichasSembradas) {
+            given().delete("/api/fichas/" + id);
+        }
+        for (var id : lotesSembrados) {
+            given().delete("/api/lotes/" + id);
+        }
+    }
+
+    // ==================== Datos ====================
+
+    // Códigos de 8 dígitos: sector, sufijo de la corrida y correlativo
+    private String codigo(String sector, int i) {
+        return sector + sufijo.substring(0, 3) + String.format("%03d", i);
+    }
+
+    private static String lote(String sector, String manzana, String codigo, double latitud, double longitud) {
+        return String.format(Locale.ROOT, """
+                {"codigoSector":"%s","codigoManzana":"%s","codigoLote":"%s",
+                 "latitud":%.6f,"longitud":%.6f,"precisionMetros":5}""",
+                sector, manzana, codigo, latitud, longitud);
+    }
+
+    private static String estimacion(String codigo, String tipoTerreno) {
+        return """
+                {"codigoLote":"%s","tipoTerreno":"%s","numPisos":3,"numViviendas":4}""".formatted(codigo, tipoTerreno);
+    }
+
+    private String ficha(String codigo, String sector, String manzana, String unidad) {
+        return """
+                {"codigoLote":"%s","codigoSector":"%s","codigoManzana":"%s","codigoUnidad":"%s","codigoPiso":"01",
+                 "tipoPredio":"Casa Habitación","areaTerreno":120.00,"areaConstruccion":180.50,
+                 "titulares":[{"tipoTitular":"1","tipoDocumento":"DNI","numeroDocumento":"12345678",
+                               "apellidoPaterno":"Presupuesto%s","nombres":"Prueba"},
+                              {"tipoTitular":"1","tipoDocumento":"DNI","numeroDocumento":"87654321",
+                               "apellidoPaterno":"Presupuesto%s","nombres":"Segunda"}],
+                 "construcciones":[{"numeroPiso":1,"areaConstruida":90.25},{"numeroPiso":2,"areaConstruida":90.25}],
+                 "servicios":{"tieneLuz":true,"tieneAgua":true,"tieneDesague":false}}"""
+                .formatted(codigo, sector, manzana, unidad, sufijo, sufijo);
+    }
+
+    private static long id(JsonNode respuesta) {
+        return respuesta != null ? respuesta.path("data").path("id").asLong() : 0;
+    }
+
+    // ==================== Invocación ====================
+
+    private JsonNode invocar(String ruta, int volumen, String metodo, String path, String query, String body)
+            throws JsonProcessingException {
+        var request = given().urlEncodingEnabled(false);
+        if (body != null) {
+            request.contentType(ContentType.JSON).body(body);
+        }
+        Response respuesta = request.request(metodo, query.isEmpty() ? path : path + "?" + query);
+        if (ruta != null) {
+            mediciones.computeIfAbsent(ruta, k -> new LinkedHashMap<>()).put(volumen, new Medicion(
+                    respuesta.statusCode(),
+                    header(respuesta, "X-SQL-Statements"),
+                    header(respuesta, "X-SQL-Entities")));
+        }
+        var contenido = respuesta.asString();
+        return contenido.startsWith("{") ? MAPPER.readTree(contenido) : null;
+    }
+
+    private static int header(Response respuesta, String nombre) {
+        var valor = respuesta.header(nombre);
+        return valor != null ? Integer.parseInt(valor) : -1;
+    }
+}
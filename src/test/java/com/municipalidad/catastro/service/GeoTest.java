@@ -0,0 +1,44 @@
+package com.municipalidad.catastro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class GeoTest {
+
+    @Test
+    void distanciaCeroEnElMismoPunto() {
+        assertEquals(0.0, Geo.distanciaMetros(-12.0464, -77.0428, -12.0464, -77.0428));
+    }
+
+    @Test
+    void unGradoDeLatitud() {
+        assertEquals(Geo.METROS_POR_GRADO, Geo.distanciaMetros(0, 0, 1, 0), 1e-6);
+        assertEquals(111_195.08, Geo.distanciaMetros(-12.5, -77.0, -11.5, -77.0), 0.01);
+    }
+
+    @Test
+    void longitudSeAcortaConElCosenoDeLaLatitud() {
+        var ecuador = Geo.distanciaMetros(0, 0, 0, 0.01);
+        var lima = Geo.distanciaMetros(-12.0464, 0, -12.0464, 0.01);
+        assertEquals(ecuador * Math.cos(Math.toRadians(-12.0464)), lima, 0.01);
+    }
+
+    @Test
+    void simetricaYAcotadaEnAntipodas() {
+        assertEquals(Geo.distanciaMetros(-12.04, -77.04, -12.06, -77.01),
+                Geo.distanciaMetros(-12.06, -77.01, -12.04, -77.04), 1e-9);
+        assertEquals(Math.PI * Geo.RADIO_TIERRA_METROS, Geo.distanciaMetros(0, 0, 0, 180), 1e-6);
+        assertEquals(Math.PI * Geo.RADIO_TIERRA_METROS, Geo.distanciaMetros(90, 0, -90, 0), 1e-6);
+    }
+
+    @Test
+    void gradosParaUnRadioCubrenLaDistancia() {
+        var latitud = -12.0464;
+        var dLat = Geo.gradosLatitud(500);
+        var dLon = Geo.gradosLongitud(500, latitud);
+        assertEquals(500, Geo.distanciaMetros(latitud, 0, latitud + dLat, 0), 1e-6);
+        assertEquals(500, Geo.distanciaMetros(latitud, 0, latitud, dLon), 0.01);
+        assertEquals(180.0, Geo.gradosLongitud(500, 90));
+    }
+}
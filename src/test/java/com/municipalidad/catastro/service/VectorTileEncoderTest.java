@@ -0,0 +1,171 @@
+package com.municipalidad.catastro.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class VectorTileEncoderTest {
+
+    @Test
+    void tileVaciaTieneCapaConVersionNombreYExtent() {
+        var tile = leer(new VectorTileEncoder("lotes").encode());
+
+        var capa = leer(bytes(tile, 3).get(0));
+        assertEquals(List.of(2L), varints(capa, 15));
+        assertEquals("lotes", texto(capa, 1).get(0));
+        assertEquals(List.of((long) VectorTileEncoder.EXTENT), varints(capa, 5));
+        assertFalse(capa.containsKey(2));
+    }
+
+    @Test
+    void puntoConIdTipoYGeometria() {
+        var encoder = new VectorTileEncoder("lotes");
+        encoder.addPoint(42L, 25, 17, Map.of());
+
+        var feature = leer(bytes(leer(bytes(leer(encoder.encode()), 3).get(0)), 2).get(0));
+        assertEquals(List.of(42L), varints(feature, 1));
+        assertEquals(List.of(1L), varints(feature, 3));
+        // MoveTo con un punto: (1 << 3) | 1, luego x e y en zigzag
+        assertEquals(List.of(9L, 50L, 34L), empaquetados(feature, 4));
+        assertFalse(feature.containsKey(2));
+    }
+
+    @Test
+    void coordenadasNegativasYVarintsDeVariosBytes() {
+        var encoder = new VectorTileEncoder("lotes");
+        encoder.addPoint(null, -1, VectorTileEncoder.EXTENT - 1, Map.of());
+
+        var feature = leer(bytes(leer(bytes(leer(encoder.encode()), 3).get(0)), 2).get(0));
+        assertFalse(feature.containsKey(1));
+        // zigzag(-1) = 1, zigzag(4095) = 8190 (dos bytes en varint)
+        assertEquals(List.of(9L, 1L, 8190L), empaquetados(feature, 4));
+    }
+
+    @Test
+    void clavesYValoresSeComparten() {
+        var encoder = new VectorTileEncoder("lotes");
+        var primero = new LinkedHashMap<String, Object>();
+        primero.put("codigoLote", "01001001");
+        primero.put("count", 3L);
+        encoder.addPoint(1L, 0, 0, primero);
+        encoder.addPoint(2L, 1, 1, Map.of("codigoLote", "01001001"));
+
+        var capa = leer(bytes(leer(encoder.encode()), 3).get(0));
+        assertEquals(List.of("codigoLote", "count"), texto(capa, 3));
+
+        var valores = bytes(capa, 4);
+        assertEquals(2, valores.size());
+        assertEquals("01001001", texto(leer(valores.get(0)), 1).get(0));
+        assertEquals(List.of(3L), varints(leer(valores.get(1)), 4));
+
+        var features = bytes(capa, 2);
+        assertEquals(List.of(0L, 0L, 1L, 1L), empaquetados(leer(features.get(0)), 2));
+        assertEquals(List.of(0L, 0L), empaquetados(leer(features.get(1)), 2));
+    }
+
+    @Test
+    void bytesDeUnPuntoSimple() {
+        var encoder = new VectorTileEncoder("a");
+        encoder.addPoint(1L, 1, 1, Map.of());
+
+        var feature = new byte[]{0x08, 0x01, 0x18, 0x01, 0x22, 0x03, 0x09, 0x02, 0x02};
+        var capa = new ArrayList<Byte>();
+        agregar(capa, 0x78, 0x02, 0x0A, 0x01, 'a', 0x12, feature.length);
+        agregar(capa, feature);
+        agregar(capa, 0x28, 0x80, 0x20);
+
+        var esperado = new ArrayList<Byte>();
+        agregar(esperado, 0x1A, capa.size());
+        esperado.addAll(capa);
+        assertArrayEquals(aArreglo(esperado), encoder.encode());
+    }
+
+    // ==================== Lector protobuf mínimo ====================
+
+    // Campos de un mensaje: varint como Long, length-delimited como byte[]
+    private static Map<Integer, List<Object>> leer(byte[] mensaje) {
+        var campos = new LinkedHashMap<Integer, List<Object>>();
+        var pos = new int[]{0};
+        while (pos[0] < mensaje.length) {
+            long tag = varint(mensaje, pos);
+            int campo = (int) (tag >>> 3);
+            int tipo = (int) (tag & 0x7);
+            Object valor;
+            if (tipo == 0) {
+                valor = varint(mensaje, pos);
+            } else if (tipo == 2) {
+                int largo = (int) varint(mensaje, pos);
+                var contenido = new byte[largo];
+                System.arraycopy(mensaje, pos[0], contenido, 0, largo);
+                pos[0] += largo;
+                valor = contenido;
+            } else {
+                throw new AssertionError("Tipo de campo inesperado: " + tipo);
+            }
+            campos.computeIfAbsent(campo, k -> new ArrayList<>()).add(valor);
+        }
+        return campos;
+    }
+
+    private static long varint(byte[] mensaje, int[] pos) {
+        long valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = mensaje[pos[0]++];
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    private static List<byte[]> bytes(Map<Integer, List<Object>> campos, int campo) {
+        return campos.getOrDefault(campo, List.of()).stream().map(byte[].class::cast).toList();
+    }
+
+    private static List<String> texto(Map<Integer, List<Object>> campos, int campo) {
+        return bytes(campos, campo).stream().map(b -> new String(b, StandardCharsets.UTF_8)).toList();
+    }
+
+    private static List<Long> varints(Map<Integer, List<Object>> campos, int campo) {
+        return campos.getOrDefault(campo, List.of()).stream().map(Long.class::cast).toList();
+    }
+
+    private static List<Long> empaquetados(Map<Integer, List<Object>> campos, int campo) {
+        var contenido = bytes(campos, campo);
+        assertEquals(1, contenido.size());
+        var valores = new ArrayList<Long>();
+        var pos = new int[]{0};
+        while (pos[0] < contenido.get(0).length) {
+            valores.add(varint(contenido.get(0), pos));
+        }
+        return valores;
+    }
+
+    private static void agregar(List<Byte> destino, int... valores) {
+        for (var v : valores) {
+            destino.add((byte) v);
+        }
+    }
+
+    private static void agregar(List<Byte> destino, byte[] valores) {
+        for (var v : valores) {
+            destino.add(v);
+        }
+    }
+
+    private static byte[] aArreglo(List<Byte> lista) {
+        var arreglo = new byte[lista.size()];
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = lista.get(i);
+        }
+        return arreglo;
+    }
+}